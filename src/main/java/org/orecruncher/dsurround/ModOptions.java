@@ -57,8 +57,11 @@ public final class ModOptions {
 	public static final String CONFIG_ENABLE_SOUND_CACHING = "Enable Sound Caching";
 	public static final String CONFIG_ENABLE_WEATHER = "Enable Weather Control";
 	public static final String CONFIG_DISABLE_ARROW_CRITICAL_TRAIL = "Disable Arrow Critical Particle Trail";
-	public static final String CONFIG_ENABLE_SYNC_SOUND_MANAGER = "Enable synchronized for SoundManager";
-	public static final String CONFIG_ENABLE_SYNC_PARTICLE_MANAGER = "Enable synchronized for ParticleManager";
+	public static final String CONFIG_ENABLE_HANDOFF_SOUND_MANAGER = "Enable thread handoff for SoundManager";
+	public static final String CONFIG_ENABLE_HANDOFF_PARTICLE_MANAGER = "Enable thread handoff for ParticleManager";
+	// Names the handoff options had when they controlled the synchronized patches
+	private static final String CONFIG_LEGACY_SYNC_SOUND_MANAGER = "Enable synchronized for SoundManager";
+	private static final String CONFIG_LEGACY_SYNC_PARTICLE_MANAGER = "Enable synchronized for ParticleManager";
 
 	@Category(CATEGORY_ASM)
 	@LangKey("dsurround.cfg.asm.cat.ASM")
@@ -89,19 +92,19 @@ public final class ModOptions {
 		@RestartRequired(server = true)
 		public static boolean disableArrowParticleTrail = true;
 
-		@Option(CONFIG_ENABLE_SYNC_SOUND_MANAGER)
+		@Option(CONFIG_ENABLE_HANDOFF_SOUND_MANAGER)
 		@DefaultValue("false")
-		@LangKey("dsurround.cfg.asm.EnableSMSync")
-		@Comment("Enable synchronized attribute on SoundManager public methods")
+		@LangKey("dsurround.cfg.asm.EnableSMHandoff")
+		@Comment("Hand SoundManager calls that change state made off the client thread over to the client thread")
 		@RestartRequired(server = true)
-		public static boolean enableSoundManagerSync = false;
+		public static boolean enableSoundManagerHandoff = false;
 
-		@Option(CONFIG_ENABLE_SYNC_PARTICLE_MANAGER)
+		@Option(CONFIG_ENABLE_HANDOFF_PARTICLE_MANAGER)
 		@DefaultValue("false")
-		@LangKey("dsurround.cfg.asm.EnablePMSync")
-		@Comment("Enable synchronized attribute on ParticleManager public methods")
+		@LangKey("dsurround.cfg.asm.EnablePMHandoff")
+		@Comment("Hand ParticleManager calls that change state made off the client thread over to the client thread")
 		@RestartRequired(server = true)
-		public static boolean enableParticleManagerSync = false;
+		public static boolean enableParticleManagerHandoff = false;
 	}
 
 	public static final String CATEGORY_LOGGING_CONTROL = "logging";
@@ -292,6 +295,8 @@ public final class ModOptions {
 	public static final String CONFIG_STARTUP_SOUND_LIST = "Startup Sound List";
 	public static final String CONFIG_HIDE_CHAT_NOTICES = "Hide Chat Notices";
 	public static final String CONFIG_ENABLE_CLIENT_CHUNK_CACHING = "Enable Client Chunk Caching";
+	public static final String CONFIG_VILLAGE_CHECK_INTERVAL = "Village Check Interval";
+	public static final String CONFIG_ENABLE_SCRIPT_COMPILATION = "Compile Scripts";
 
 	@Category(CATEGORY_GENERAL)
 	@LangKey("dsurround.cfg.general.cat.General")
@@ -300,7 +305,8 @@ public final class ModOptions {
 
 		public static String PATH = null;
 		public static final List<String> SORT = Arrays.asList(CONFIG_HIDE_CHAT_NOTICES, CONFIG_DISABLE_SUSPEND,
-				CONFIG_EXTERNAL_SCRIPTS, CONFIG_STARTUP_SOUND_LIST, CONFIG_ENABLE_CLIENT_CHUNK_CACHING);
+				CONFIG_EXTERNAL_SCRIPTS, CONFIG_STARTUP_SOUND_LIST, CONFIG_ENABLE_CLIENT_CHUNK_CACHING,
+				CONFIG_VILLAGE_CHECK_INTERVAL, CONFIG_ENABLE_SCRIPT_COMPILATION);
 
 		@Option(CONFIG_HIDE_CHAT_NOTICES)
 		@DefaultValue("false")
@@ -333,6 +339,19 @@ public final class ModOptions {
 		@Comment("Enable/disable client side chunk caching for performance")
 		@LangKey("dsurround.cfg.general.ChunkCaching")
 		public static boolean enableClientChunkCaching = true;
+
+		@Option(CONFIG_VILLAGE_CHECK_INTERVAL)
+		@DefaultValue("20")
+		@LangKey("dsurround.cfg.general.VillageInterval")
+		@RangeInt(min = 1, max = 200)
+		@Comment("Ticks between server checks of whether players are within a village")
+		public static int villageCheckInterval = 20;
+
+		@Option(CONFIG_ENABLE_SCRIPT_COMPILATION)
+		@DefaultValue("true")
+		@LangKey("dsurround.cfg.general.CompileScripts")
+		@Comment("Compile script conditions to bytecode rather than interpreting them")
+		public static boolean enableScriptCompilation = true;
 	}
 
 	public static final String CATEGORY_AURORA = "aurora";
@@ -526,6 +545,7 @@ public final class ModOptions {
 	public static final String CONFIG_ENABLE_PUDDLE_SOUND = "Rain Puddle Sound";
 	public static final String CONFIG_SOUND_CULL_THRESHOLD = "Sound Culling Threshold";
 	public static final String CONFIG_THUNDER_VOLUME = "Thunder Volume";
+	public static final String CONFIG_SOUND_CACHE_SIZE = "Sound Cache Size";
 	public static final String CONFIG_SOUND_SETTINGS = "Sound Settings";
 
 	@Category(CATEGORY_SOUND)
@@ -540,7 +560,7 @@ public final class ModOptions {
 				CONFIG_SWORD_AS_TOOL_EQUIP_SOUND, CONFIG_ENABLE_CRAFTING_SOUND, CONFIG_AUTO_CONFIG_CHANNELS,
 				CONFIG_NORMAL_CHANNEL_COUNT, CONFIG_STREAMING_CHANNEL_COUNT, CONFIG_STREAM_BUFFER_SIZE,
 				CONFIG_STREAM_BUFFER_COUNT, CONFIG_MUTE_WHEN_BACKGROUND, CONFIG_THUNDER_VOLUME,
-				CONFIG_SOUND_CULL_THRESHOLD, CONFIG_SOUND_SETTINGS);
+				CONFIG_SOUND_CULL_THRESHOLD, CONFIG_SOUND_CACHE_SIZE, CONFIG_SOUND_SETTINGS);
 
 		@Option(CONFIG_ENABLE_BIOME_SOUNDS)
 		@DefaultValue("true")
@@ -662,6 +682,13 @@ public final class ModOptions {
 		@Comment("Ticks between culled sound events (0 to disable culling)")
 		public static int soundCullingThreshold = 20;
 
+		@Option(CONFIG_SOUND_CACHE_SIZE)
+		@DefaultValue("16")
+		@LangKey("dsurround.cfg.sound.CacheSize")
+		@RangeInt(min = 1, max = 512)
+		@Comment("Maximum size of in-memory sound data in megabytes (least recently played sounds are evicted)")
+		public static int soundCacheSize = 16;
+
 		@Option(CONFIG_SOUND_SETTINGS)
 		@Hidden
 		@DefaultValue("minecraft:block.water.ambient cull,minecraft:block.lava.ambient cull,minecraft:entity.sheep.ambient cull,minecraft:entity.chicken.ambient cull,minecraft:entity.cow.ambient cull,minecraft:entity.pig.ambient cull,dsurround:bison block")
@@ -1008,6 +1035,9 @@ public final class ModOptions {
 
 	public static void load(final Configuration config) {
 
+		migrate(config, CATEGORY_ASM, CONFIG_LEGACY_SYNC_SOUND_MANAGER, CONFIG_ENABLE_HANDOFF_SOUND_MANAGER);
+		migrate(config, CATEGORY_ASM, CONFIG_LEGACY_SYNC_PARTICLE_MANAGER, CONFIG_ENABLE_HANDOFF_PARTICLE_MANAGER);
+
 		ConfigProcessor.process(config, ModOptions.class);
 		if (ModBase.config() != null)
 			Profiles.tickle();
@@ -1020,6 +1050,18 @@ public final class ModOptions {
 			}
 	}
 
+	// Carries the value of a renamed option over to its new name so an existing
+	// setting is not lost on upgrade.
+	private static void migrate(final Configuration config, final String category, final String oldName,
+			final String newName) {
+		if (!config.hasKey(category, oldName))
+			return;
+		final ConfigCategory cat = config.getCategory(category);
+		if (!cat.containsKey(newName))
+			cat.put(newName, new Property(newName, cat.get(oldName).getString(), Property.Type.BOOLEAN));
+		cat.remove(oldName);
+	}
+
 	private static void scrubCategory(final ConfigCategory category) {
 		final List<String> killList = new ArrayList<>();
 		for (final Entry<String, Property> entry : category.entrySet())
@@ -23,40 +23,43 @@
  */
 package org.orecruncher.dsurround.asm;
 
-import org.apache.commons.lang3.StringUtils;
-import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
-import org.objectweb.asm.tree.MethodNode;
 
-public class PatchParticleManagerSync extends Transmorgrifier {
+/**
+ * Hands particles added to the ParticleManager off the client thread over to
+ * the client thread rather than synchronizing every method of the class. The
+ * helpers that spawn block effects funnel through addEffect() so they are
+ * covered as well.
+ */
+public class PatchParticleManagerHandoff extends PatchThreadHandoff {
 
-	public PatchParticleManagerSync() {
+	public PatchParticleManagerHandoff() {
 		super("net.minecraft.client.particle.ParticleManager");
 	}
 
 	@Override
 	public String name() {
-		return "ParticleManager synchronization";
+		return "ParticleManager thread handoff";
 	}
 
 	@Override
 	public boolean isEnabled() {
-		return TransformLoader.config.getBoolean("Enable synchronized for ParticleManager", "asm", true,
-				StringUtils.EMPTY);
+		return isOptionEnabled("Enable thread handoff for ParticleManager", "Enable synchronized for ParticleManager");
 	}
 
 	@Override
 	public boolean transmorgrify(final ClassNode cn) {
-		// Loop through the method nodes setting the synchronized bit
-		for (final MethodNode m : cn.methods) {
-			if (!m.name.startsWith("<") && (m.access & Opcodes.ACC_PUBLIC) != 0
-					&& (m.access & Opcodes.ACC_SYNCHRONIZED) == 0) {
-				logMethod(Transformer.log(), m, "Synchronized!");
-				m.access |= Opcodes.ACC_SYNCHRONIZED;
-			}
-		}
-
-		return true;
+		boolean result = handoff(cn, "addEffect", "(Lnet/minecraft/client/particle/Particle;)V", "addEffect",
+				"func_78873_a");
+		result &= handoff(cn, "emitParticleAtEntity",
+				"(Lnet/minecraft/entity/Entity;Lnet/minecraft/util/EnumParticleTypes;)V", "emitParticleAtEntity",
+				"func_178926_a");
+		result &= handoff(cn, "clearEffects", "(Lnet/minecraft/world/World;)V", "clearEffects", "func_78870_a");
+
+		if (!result)
+			Transformer.log().info("Unable to fully patch [{}]!", getClassName());
+
+		return result;
 	}
 
 }
@@ -0,0 +1,79 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.orecruncher.dsurround.asm;
+
+import org.objectweb.asm.tree.ClassNode;
+
+/**
+ * Hands SoundManager requests that change state made off the client thread
+ * over to the client thread rather than synchronizing every method of the
+ * class. Queries such as isSoundPlaying() only read the sound maps and are
+ * left alone.
+ */
+public class PatchSoundManagerHandoff extends PatchThreadHandoff {
+
+	// Set once the playSound hook is in place. Until then off-thread plays run
+	// directly and callers need to do their own locking.
+	private static volatile boolean playSoundHooked = false;
+
+	public static boolean isPlaySoundHooked() {
+		return playSoundHooked;
+	}
+
+	public PatchSoundManagerHandoff() {
+		super("net.minecraft.client.audio.SoundManager");
+	}
+
+	@Override
+	public String name() {
+		return "SoundManager thread handoff";
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return isOptionEnabled("Enable thread handoff for SoundManager", "Enable synchronized for SoundManager");
+	}
+
+	@Override
+	public boolean transmorgrify(final ClassNode cn) {
+		playSoundHooked = handoff(cn, "playSound", "(Lnet/minecraft/client/audio/ISound;)V", "playSound",
+				"func_148611_c");
+		boolean result = playSoundHooked;
+		result &= handoff(cn, "playDelayedSound", "(Lnet/minecraft/client/audio/ISound;I)V", "playDelayedSound",
+				"func_148599_a");
+		result &= handoff(cn, "stopSound", "(Lnet/minecraft/client/audio/ISound;)V", "stopSound", "func_148602_b");
+		result &= handoff(cn, "stop", "(Ljava/lang/String;Lnet/minecraft/util/SoundCategory;)V", "stop",
+				"func_189567_a");
+		result &= handoff(cn, "stopAllSounds", "()V", "stopAllSounds", "func_148614_c");
+		result &= handoff(cn, "pauseAllSounds", "()V", "pauseAllSounds", "func_148610_e");
+		result &= handoff(cn, "resumeAllSounds", "()V", "resumeAllSounds", "func_148604_f");
+		result &= handoff(cn, "setVolume", "(Lnet/minecraft/util/SoundCategory;F)V", "setVolume", "func_188771_a");
+
+		if (!result)
+			Transformer.log().info("Unable to fully patch [{}]!", getClassName());
+
+		return result;
+	}
+
+}
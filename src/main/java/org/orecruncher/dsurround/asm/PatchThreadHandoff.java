@@ -0,0 +1,103 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.asm;
+
+import org.apache.commons.lang3.StringUtils;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+import net.minecraftforge.common.config.Configuration;
+
+/**
+ * Base for patches that hand calls made off the client thread over to the
+ * client thread. The head of each target method gets a call to a static hook
+ * in ClientThreadQueue that takes the same parameters, prefixed by the target
+ * instance. If the hook returns true the call was queued and the method
+ * returns immediately.
+ */
+public abstract class PatchThreadHandoff extends Transmorgrifier {
+
+	private static final String HOOK_OWNER = "org/orecruncher/dsurround/client/ClientThreadQueue";
+	private static final String CATEGORY = "asm";
+
+	public PatchThreadHandoff(final String className) {
+		super(className);
+	}
+
+	/**
+	 * Reads the option from the asm category. Configs written before the handoff
+	 * patches carry the option under its old "synchronized" name, so that value
+	 * is honored until the new one has been written.
+	 */
+	protected static boolean isOptionEnabled(final String option, final String legacyOption) {
+		final Configuration config = TransformLoader.config;
+		if (!config.hasKey(CATEGORY, option) && config.hasKey(CATEGORY, legacyOption))
+			return config.getCategory(CATEGORY).get(legacyOption).getBoolean(false);
+		return config.getBoolean(option, CATEGORY, false, StringUtils.EMPTY);
+	}
+
+	@Override
+	public int classWriterFlags() {
+		return ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES;
+	}
+
+	protected boolean handoff(final ClassNode cn, final String hook, final String sig, final String... names) {
+		final MethodNode m = findMethod(cn, sig, names);
+		if (m == null) {
+			Transformer.log().error("Unable to locate method {}{}", names[0], sig);
+			return false;
+		}
+
+		logMethod(Transformer.log(), m, "Found!");
+
+		final InsnList list = new InsnList();
+		list.add(new VarInsnNode(Opcodes.ALOAD, 0));
+		int slot = 1;
+		for (final Type arg : Type.getArgumentTypes(sig)) {
+			list.add(new VarInsnNode(arg.getOpcode(Opcodes.ILOAD), slot));
+			slot += arg.getSize();
+		}
+
+		final String hookSig = "(L" + cn.name + ";" + sig.substring(1, sig.indexOf(')') + 1) + "Z";
+		final LabelNode proceed = new LabelNode();
+		list.add(new MethodInsnNode(Opcodes.INVOKESTATIC, HOOK_OWNER, hook, hookSig, false));
+		list.add(new JumpInsnNode(Opcodes.IFEQ, proceed));
+		list.add(new InsnNode(Opcodes.RETURN));
+		list.add(proceed);
+
+		m.instructions.insert(list);
+		return true;
+	}
+
+}
@@ -32,9 +32,11 @@ import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
 
 /**
- * ASM patch to force the flush of the sound queue when playing a sound.
+ * ASM patch to let the SoundEngine know a sound was handed to the sound system
+ * so the sound queue gets flushed.
  */
 public class SoundPlayFlush extends Transmorgrifier {
 
@@ -57,10 +59,13 @@ public class SoundPlayFlush extends Transmorgrifier {
 			logMethod(Transformer.log(), m, "Found!");
 
 			final String owner = "org/orecruncher/dsurround/client/sound/SoundEngine";
-			final String targetName = "flushSound";
-			final String sig1 = "()V";
+			final String targetName = "soundPlayed";
+			final String sig1 = "(Lnet/minecraft/client/audio/ISound;)V";
 
+			// The sound parameter is reassigned by Forge's sound event so it
+			// holds the sound that was actually played.
 			final InsnList list = new InsnList();
+			list.add(new VarInsnNode(Opcodes.ALOAD, 1));
 			list.add(new MethodInsnNode(Opcodes.INVOKESTATIC, owner, targetName, sig1, false));
 
 			for (final Iterator<?> iterator = m.instructions.iterator(); iterator.hasNext();) {
@@ -45,12 +45,11 @@ public class Transformer extends MyTransformer {
 		addTransmorgrifier(new PatchSoundManagerPlayTime());
 		addTransmorgrifier(new PatchSoundManagerClampVolume());
 		addTransmorgrifier(new SoundPlayFlush());
-		addTransmorgrifier(new PatchSoundManagerSync());
-		addTransmorgrifier(new PatchParticleManagerSync());
+		addTransmorgrifier(new PatchSoundManagerHandoff());
+		addTransmorgrifier(new PatchParticleManagerHandoff());
 		addTransmorgrifier(new PatchEntityArrow());
 		addTransmorgrifier(new SoundCategoryAdditions());
 		addTransmorgrifier(new BiomeInfoHook());
-		addTransmorgrifier(new BlockStateInfoHook());
 		addTransmorgrifier(new ItemInfoHook());
 	}
 
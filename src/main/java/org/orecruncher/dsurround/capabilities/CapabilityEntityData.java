@@ -123,8 +123,9 @@ public final class CapabilityEntityData {
 		public static void livingUpdate(@Nonnull final LivingUpdateEvent event) {
 			final World world = event.getEntity().getEntityWorld();
 			// Don't tick if this is the client thread. We only check 4 times a
-			// second as if that is enough :)
-			if (world.isRemote || (world.getTotalWorldTime() % 5) != 0)
+			// second as if that is enough :) Entities are spread across the
+			// 5 tick window by ID so they are not all assessed on the same tick.
+			if (world.isRemote || ((world.getTotalWorldTime() + event.getEntity().getEntityId()) % 5) != 0)
 				return;
 			final IEntityDataSettable data = (IEntityDataSettable) getCapability(event.getEntity());
 			if (data != null) {
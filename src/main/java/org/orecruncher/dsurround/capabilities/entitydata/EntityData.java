@@ -26,8 +26,7 @@ package org.orecruncher.dsurround.capabilities.entitydata;
 
 import javax.annotation.Nonnull;
 
-import org.orecruncher.dsurround.network.Network;
-import org.orecruncher.dsurround.network.PacketEntityData;
+import org.orecruncher.dsurround.server.services.EntityDataService;
 
 import net.minecraft.entity.Entity;
 import net.minecraft.nbt.NBTTagCompound;
@@ -85,7 +84,7 @@ public final class EntityData implements IEntityDataSettable {
 	@Override
 	public void sync() {
 		if (this.entity != null && !this.entity.world.isRemote) {
-			Network.sendToEntityViewers(this.entity, new PacketEntityData(this));
+			EntityDataService.queueSync(this.entity);
 			clearDirty();
 		}
 	}
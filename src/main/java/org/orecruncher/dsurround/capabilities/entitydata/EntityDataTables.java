@@ -25,13 +25,13 @@
 package org.orecruncher.dsurround.capabilities.entitydata;
 
 import java.util.Set;
-import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 
 import org.orecruncher.dsurround.ModBase;
 import org.orecruncher.dsurround.capabilities.CapabilityEntityData;
 
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.ai.EntityAIAttackMelee;
@@ -47,6 +47,7 @@ import net.minecraft.entity.ai.EntityAIOcelotAttack;
 import net.minecraft.entity.ai.EntityAIOwnerHurtByTarget;
 import net.minecraft.entity.ai.EntityAIPanic;
 import net.minecraft.entity.ai.EntityAIRunAroundLikeCrazy;
+import net.minecraft.entity.ai.EntityAITasks.EntityAITaskEntry;
 import net.minecraft.entity.ai.EntityAIZombieAttack;
 import net.minecraft.entity.monster.EntityEnderman;
 import net.minecraft.entity.monster.EntityGhast;
@@ -62,10 +63,25 @@ public final class EntityDataTables {
 	private final static Set<Class<? extends EntityAIBase>> ATTACK_CLASSES = new ReferenceOpenHashSet<>();
 	private final static Set<Class<? extends EntityAIBase>> FLEE_CLASSES = new ReferenceOpenHashSet<>();
 
+	// Verdict bits cached per concrete AI task class
+	private final static int VERDICT_NONE = 0;
+	private final static int VERDICT_ATTACK = 1;
+	private final static int VERDICT_FLEE = 2;
+	private final static int VERDICT_UNKNOWN = -1;
+
+	private final static Reference2IntOpenHashMap<Class<?>> VERDICTS = new Reference2IntOpenHashMap<>();
+
+	static {
+		VERDICTS.defaultReturnValue(VERDICT_UNKNOWN);
+	}
+
 	public static void add(@Nonnull final Class<? extends EntityAIBase> clazz, final boolean isAttack) {
 		final Set<Class<? extends EntityAIBase>> theSet = isAttack ? ATTACK_CLASSES : FLEE_CLASSES;
-		if (!theSet.contains(clazz))
+		if (!theSet.contains(clazz)) {
 			theSet.add(clazz);
+			// Cached verdicts may be affected by the new marker
+			VERDICTS.clear();
+		}
 	}
 
 	@SuppressWarnings({ "unchecked" })
@@ -117,22 +133,45 @@ public final class EntityDataTables {
 		registerSpecial(EntityRabbit.class, "AIAvoidEntity", false);
 	}
 
-	@Nonnull
-	private static boolean eval(@Nonnull final EntityLiving entity,
-			@Nonnull final Set<Class<? extends EntityAIBase>> markers) {
-		return Stream.of(entity.tasks.executingTaskEntries, entity.targetTasks.executingTaskEntries)
-				.flatMap(e -> e.stream()).map(t -> t.action.getClass()).filter(c -> markers.contains(c)).findFirst()
-				.isPresent();
+	/*
+	 * Determines whether the AI task class is an attack and/or flee marker. A
+	 * class that extends a registered marker class is treated the same as the
+	 * marker itself.
+	 */
+	private static int computeVerdict(@Nonnull final Class<?> clazz) {
+		int verdict = VERDICT_NONE;
+		for (Class<?> c = clazz; c != null && c != EntityAIBase.class; c = c.getSuperclass()) {
+			if (ATTACK_CLASSES.contains(c))
+				verdict |= VERDICT_ATTACK;
+			if (FLEE_CLASSES.contains(c))
+				verdict |= VERDICT_FLEE;
+		}
+		return verdict;
+	}
+
+	private static int getVerdict(@Nonnull final Class<?> clazz) {
+		int verdict = VERDICTS.getInt(clazz);
+		if (verdict == VERDICT_UNKNOWN) {
+			verdict = computeVerdict(clazz);
+			VERDICTS.put(clazz, verdict);
+		}
+		return verdict;
+	}
+
+	private static int eval(@Nonnull final Set<EntityAITaskEntry> tasks) {
+		int verdict = VERDICT_NONE;
+		for (final EntityAITaskEntry entry : tasks)
+			verdict |= getVerdict(entry.action.getClass());
+		return verdict;
 	}
 
 	@Nonnull
 	public static void assess(@Nonnull final EntityLiving entity) {
 		final IEntityDataSettable data = (IEntityDataSettable) CapabilityEntityData.getCapability(entity);
 		if (data != null) {
-			final boolean isAttacking = eval(entity, ATTACK_CLASSES);
-			final boolean isFleeing = eval(entity, FLEE_CLASSES);
-			data.setAttacking(isAttacking);
-			data.setFleeing(isFleeing);
+			final int verdict = eval(entity.tasks.executingTaskEntries) | eval(entity.targetTasks.executingTaskEntries);
+			data.setAttacking((verdict & VERDICT_ATTACK) != 0);
+			data.setFleeing((verdict & VERDICT_FLEE) != 0);
 		}
 	}
 
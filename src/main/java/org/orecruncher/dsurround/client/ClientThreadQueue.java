@@ -0,0 +1,145 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.orecruncher.dsurround.client;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.dsurround.ModBase;
+import org.orecruncher.dsurround.event.DiagnosticEvent;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.audio.ISound;
+import net.minecraft.client.audio.SoundManager;
+import net.minecraft.client.particle.Particle;
+import net.minecraft.client.particle.ParticleManager;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.EnumParticleTypes;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Receives SoundManager and ParticleManager calls that other threads make and
+ * replays them on the client thread at the start of the next client tick. The
+ * hooks are wired in by ASM and return true when the call has been queued, in
+ * which case the patched method returns without doing anything else.
+ */
+@SideOnly(Side.CLIENT)
+@EventBusSubscriber(value = Side.CLIENT, modid = ModBase.MOD_ID)
+public final class ClientThreadQueue {
+
+	private static final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+	private static long handoffCount;
+
+	private ClientThreadQueue() {
+
+	}
+
+	private static boolean enqueue(@Nonnull final Runnable command) {
+		final Minecraft mc = Minecraft.getMinecraft();
+		if (mc == null || mc.isCallingFromMinecraftThread())
+			return false;
+		commands.add(command);
+		return true;
+	}
+
+	public static boolean playSound(@Nonnull final SoundManager manager, @Nonnull final ISound sound) {
+		return enqueue(() -> manager.playSound(sound));
+	}
+
+	public static boolean playDelayedSound(@Nonnull final SoundManager manager, @Nonnull final ISound sound,
+			final int delay) {
+		return enqueue(() -> manager.playDelayedSound(sound, delay));
+	}
+
+	public static boolean stopSound(@Nonnull final SoundManager manager, @Nonnull final ISound sound) {
+		return enqueue(() -> manager.stopSound(sound));
+	}
+
+	public static boolean stop(@Nonnull final SoundManager manager, @Nullable final String sound,
+			@Nullable final SoundCategory category) {
+		return enqueue(() -> manager.stop(sound, category));
+	}
+
+	public static boolean stopAllSounds(@Nonnull final SoundManager manager) {
+		return enqueue(manager::stopAllSounds);
+	}
+
+	public static boolean pauseAllSounds(@Nonnull final SoundManager manager) {
+		return enqueue(manager::pauseAllSounds);
+	}
+
+	public static boolean resumeAllSounds(@Nonnull final SoundManager manager) {
+		return enqueue(manager::resumeAllSounds);
+	}
+
+	public static boolean setVolume(@Nonnull final SoundManager manager, @Nonnull final SoundCategory category,
+			final float volume) {
+		return enqueue(() -> manager.setVolume(category, volume));
+	}
+
+	public static boolean addEffect(@Nonnull final ParticleManager manager, @Nonnull final Particle effect) {
+		return enqueue(() -> manager.addEffect(effect));
+	}
+
+	public static boolean emitParticleAtEntity(@Nonnull final ParticleManager manager, @Nonnull final Entity entity,
+			@Nonnull final EnumParticleTypes type) {
+		return enqueue(() -> manager.emitParticleAtEntity(entity, type));
+	}
+
+	public static boolean clearEffects(@Nonnull final ParticleManager manager, @Nullable final World world) {
+		return enqueue(() -> manager.clearEffects(world));
+	}
+
+	@SubscribeEvent(priority = EventPriority.HIGHEST)
+	public static void clientTick(@Nonnull final TickEvent.ClientTickEvent event) {
+		if (event.phase != TickEvent.Phase.START)
+			return;
+
+		Runnable command;
+		while ((command = commands.poll()) != null) {
+			handoffCount++;
+			try {
+				command.run();
+			} catch (final Throwable t) {
+				ModBase.log().error("Unable to execute handed off client command", t);
+			}
+		}
+	}
+
+	@SubscribeEvent
+	public static void diagnostics(@Nonnull final DiagnosticEvent.Gather event) {
+		event.output.add("Client thread handoffs: " + handoffCount);
+	}
+
+}
@@ -24,6 +24,7 @@
 
 package org.orecruncher.dsurround.client.footsteps.implem;
 
+import java.util.Arrays;
 import java.util.Map;
 
 import javax.annotation.Nonnull;
@@ -34,6 +35,7 @@ import org.orecruncher.dsurround.registry.blockstate.BlockStateMatcher;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -52,7 +54,13 @@ public final class BlockAcousticMap {
 
 	protected final IAcousticResolver resolver;
 	protected Map<BlockStateMatcher, AcousticProfile> data = new Object2ObjectOpenHashMap<>();
-	protected Map<IBlockState, AcousticProfile> cache = new Reference2ObjectOpenHashMap<>();
+
+	// Resolved profiles indexed by Block.getStateId(). The id only covers the
+	// metadata bits so a state that collides with the one already in the slot
+	// is kept in the overflow map instead.
+	protected IBlockState[] states = new IBlockState[0];
+	protected AcousticProfile[] profiles = new AcousticProfile[0];
+	protected Map<IBlockState, AcousticProfile> overflow = new Reference2ObjectOpenHashMap<>();
 
 	/**
 	 * CTOR for building a map that has no resolver and performs special lookups
@@ -90,12 +98,33 @@ public final class BlockAcousticMap {
 	 */
 	@Nullable
 	public IAcoustic[] getBlockAcoustics(@Nonnull final IBlockState state) {
-		AcousticProfile result = this.cache.get(state);
+		final int id = Block.getStateId(state);
+		if (id < this.states.length && this.states[id] == state)
+			return this.profiles[id].get();
+		return lookup(state, id).get();
+	}
+
+	@Nonnull
+	protected AcousticProfile lookup(@Nonnull final IBlockState state, final int id) {
+		if (id >= this.states.length) {
+			final int size = Math.max(id + 1, this.states.length * 2);
+			this.states = Arrays.copyOf(this.states, size);
+			this.profiles = Arrays.copyOf(this.profiles, size);
+		}
+
+		if (this.states[id] == null) {
+			final AcousticProfile result = cacheMiss(state);
+			this.states[id] = state;
+			this.profiles[id] = result;
+			return result;
+		}
+
+		AcousticProfile result = this.overflow.get(state);
 		if (result == null) {
 			result = cacheMiss(state);
-			this.cache.put(state, result);
+			this.overflow.put(state, result);
 		}
-		return result.get();
+		return result;
 	}
 
 	public void put(@Nonnull final BlockStateMatcher info, @Nonnull final IAcoustic[] acoustics) {
@@ -104,6 +133,8 @@ public final class BlockAcousticMap {
 
 	public void clear() {
 		this.data = new Object2ObjectOpenHashMap<>(this.data.size());
-		this.cache = new Reference2ObjectOpenHashMap<>(this.cache.size());
+		this.states = new IBlockState[0];
+		this.profiles = new AcousticProfile[0];
+		this.overflow = new Reference2ObjectOpenHashMap<>(this.overflow.size());
 	}
 }
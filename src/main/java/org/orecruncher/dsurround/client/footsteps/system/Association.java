@@ -27,6 +27,7 @@ package org.orecruncher.dsurround.client.footsteps.system;
 import java.util.Collection;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.orecruncher.dsurround.client.footsteps.implem.AcousticsManager;
 import org.orecruncher.dsurround.client.footsteps.interfaces.IAcoustic;
@@ -42,10 +43,11 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class Association {
 
-	private final IBlockState state;
-	private final BlockPos pos;
+	private IBlockState state;
+	private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+	private boolean hasPos;
 	private final ObjectArray<IAcoustic> data = new ObjectArray<>(8);
-	private final boolean isNotEmitter;
+	private boolean isNotEmitter;
 
 	public Association() {
 		this(AcousticsManager.EMPTY);
@@ -59,12 +61,26 @@ public class Association {
 		this(state, pos, AcousticsManager.EMPTY);
 	}
 
-	public Association(@Nonnull final IBlockState state, @Nonnull final BlockPos pos,
+	public Association(@Nullable final IBlockState state, @Nullable final BlockPos pos,
 			@Nonnull final IAcoustic[] association) {
+		set(state, pos, association);
+	}
+
+	/**
+	 * Reinitializes the association so that the instance can be reused. The
+	 * position is copied so the caller is free to pass in a mutable position.
+	 */
+	@Nonnull
+	public Association set(@Nullable final IBlockState state, @Nullable final BlockPos pos,
+			@Nullable final IAcoustic[] association) {
 		this.state = state;
-		this.pos = pos;
+		this.hasPos = pos != null;
+		if (this.hasPos)
+			this.pos.setPos(pos);
+		this.data.clear();
 		this.data.addAll(association == null ? AcousticsManager.EMPTY : association);
 		this.isNotEmitter = association == AcousticsManager.NOT_EMITTER;
+		return this;
 	}
 
 	@Nonnull
@@ -72,6 +88,11 @@ public class Association {
 		return this.data.toArray(new IAcoustic[0]);
 	}
 
+	@Nonnull
+	public ObjectArray<IAcoustic> getAcoustics() {
+		return this.data;
+	}
+
 	@Nonnull
 	public boolean getNoAssociation() {
 		return this.data.size() == 0;
@@ -93,17 +114,22 @@ public class Association {
 		this.data.addAll(acoustics);
 	}
 
+	public void add(@Nonnull final ObjectArray<IAcoustic> acoustics) {
+		for (int i = 0; i < acoustics.size(); i++)
+			this.data.add(acoustics.get(i));
+	}
+
 	public void add(@Nonnull final Collection<? extends IAcoustic> collection) {
 		this.data.addAll(collection);
 	}
 
-	@Nonnull
+	@Nullable
 	public BlockPos getPos() {
-		return this.pos;
+		return this.hasPos ? this.pos : null;
 	}
 
 	public boolean isNotEmitter() {
 		return this.isNotEmitter;
 	}
 
-}
\ No newline at end of file
+}
@@ -25,12 +25,10 @@
 package org.orecruncher.dsurround.client.footsteps.system;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 
 import org.orecruncher.dsurround.client.footsteps.interfaces.FootprintStyle;
 
 import net.minecraft.entity.EntityLivingBase;
-import net.minecraft.util.math.Vec3d;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -39,21 +37,30 @@ public class Footprint {
 
 	private FootprintStyle style;
 	private EntityLivingBase entity;
-	private Vec3d stepLoc;
+	private double x;
+	private double y;
+	private double z;
 	private boolean isRightFoot;
 	private float rotation;
 	private float scale;
 
-	public static Footprint produce(@Nonnull final FootprintStyle style, @Nonnull final EntityLivingBase entity,
-			@Nonnull final Vec3d stepLoc, final float rotation, final float scale, final boolean rightFoot) {
-		final Footprint print = new Footprint();
-		print.style = style;
-		print.entity = entity;
-		print.stepLoc = stepLoc;
-		print.rotation = rotation;
-		print.isRightFoot = rightFoot;
-		print.scale = scale;
-		return print;
+	/**
+	 * Reinitializes the footprint so that the instance can be reused by the
+	 * generator that owns it.
+	 */
+	@Nonnull
+	public Footprint set(@Nonnull final FootprintStyle style, @Nonnull final EntityLivingBase entity,
+			final double x, final double y, final double z, final float rotation, final float scale,
+			final boolean rightFoot) {
+		this.style = style;
+		this.entity = entity;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.rotation = rotation;
+		this.isRightFoot = rightFoot;
+		this.scale = scale;
+		return this;
 	}
 
 	public FootprintStyle getStyle() {
@@ -64,9 +71,16 @@ public class Footprint {
 		return this.entity;
 	}
 
-	@Nullable
-	public Vec3d getStepLocation() {
-		return this.stepLoc;
+	public double getX() {
+		return this.x;
+	}
+
+	public double getY() {
+		return this.y;
+	}
+
+	public double getZ() {
+		return this.z;
 	}
 
 	public boolean isRightFoot() {
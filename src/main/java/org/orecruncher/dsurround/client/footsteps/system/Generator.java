@@ -25,7 +25,6 @@
 package org.orecruncher.dsurround.client.footsteps.system;
 
 import java.util.Random;
-import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -46,7 +45,6 @@ import org.orecruncher.dsurround.client.sound.SoundEngine;
 import org.orecruncher.dsurround.client.sound.Sounds;
 import org.orecruncher.dsurround.facade.FacadeHelper;
 import org.orecruncher.dsurround.registry.footstep.Variator;
-import org.orecruncher.lib.MyUtils;
 import org.orecruncher.lib.TimeUtils;
 import org.orecruncher.lib.WorldUtils;
 import org.orecruncher.lib.collections.ObjectArray;
@@ -62,7 +60,6 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -73,13 +70,6 @@ public class Generator {
 	protected static final Random RANDOM = XorShiftRandom.current();
 	protected static final int BRUSH_INTERVAL = 100;
 
-	protected static final Consumer<Footprint> GENERATE_PRINT = print -> {
-		final Vec3d loc = print.getStepLocation();
-		final World world = print.getEntity().getEntityWorld();
-		ParticleCollections.addFootprint(print.getStyle(), world, loc, print.getRotation(), print.getScale(),
-				print.isRightFoot());
-	};
-
 	protected final Variator VAR;
 	protected final BlockMap blockMap;
 
@@ -103,7 +93,7 @@ public class Generator {
 	protected boolean scalStat;
 	protected boolean stepThisFrame;
 
-	protected BlockPos messyPos = BlockPos.ORIGIN;
+	protected final BlockPos.MutableBlockPos messyPos = new BlockPos.MutableBlockPos();
 	protected long brushesTime;
 
 	// We calc our own because of inconsistencies with Minecraft
@@ -111,9 +101,21 @@ public class Generator {
 	protected int pedometer;
 
 	protected static final ObjectArray<IAcoustic> accents = new ObjectArray<>(4);
-	protected final ObjectArray<Footprint> footprints = new ObjectArray<>(4);
 	protected final SoundPlayer soundPlayer;
 
+	// Scratch state reused from step to step so that generating footsteps does
+	// not create garbage. Associations and footprints are handed out from the
+	// pools and are only good until the end of the generateFootsteps() call.
+	protected final BlockPos.MutableBlockPos footPos = new BlockPos.MutableBlockPos();
+	protected final BlockPos.MutableBlockPos edgePos = new BlockPos.MutableBlockPos();
+	protected final BlockPos.MutableBlockPos abovePos = new BlockPos.MutableBlockPos();
+	protected final BlockPos.MutableBlockPos belowPos = new BlockPos.MutableBlockPos();
+	protected final ConfigOptions swimOptions = new ConfigOptions();
+	protected final ObjectArray<Association> associations = new ObjectArray<>(4);
+	protected int associationCount;
+	protected final ObjectArray<Footprint> footprints = new ObjectArray<>(4);
+	protected int footprintCount;
+
 	public Generator(@Nonnull final Variator var) {
 		this.VAR = var;
 		this.blockMap = ClientRegistry.FOOTSTEPS.getBlockMap();
@@ -133,6 +135,7 @@ public class Generator {
 		// Clear starting state
 		this.didJump = false;
 		this.stepThisFrame = false;
+		this.associationCount = 0;
 
 		this.isOnLadder = entity.isOnLadder();
 
@@ -143,10 +146,13 @@ public class Generator {
 		// Flush!
 		this.soundPlayer.think();
 
-		if (this.footprints.size() > 0) {
-			this.footprints.forEach(GENERATE_PRINT);
-			this.footprints.clear();
+		for (int i = 0; i < this.footprintCount; i++) {
+			final Footprint print = this.footprints.get(i);
+			final World world = print.getEntity().getEntityWorld();
+			ParticleCollections.addFootprint(print.getStyle(), world, print.getX(), print.getY(), print.getZ(),
+					print.getRotation(), print.getScale(), print.isRightFoot());
 		}
+		this.footprintCount = 0;
 
 		if (this.stepThisFrame)
 			this.pedometer++;
@@ -342,10 +348,11 @@ public class Generator {
 			if (proceedWithStep(entity) && (entity.motionX != 0d || entity.motionZ != 0d)) {
 				final int yy = MathStuff
 						.floor(entity.posY - 0.1d - entity.getYOffset() - (entity.onGround ? 0d : 0.25d));
-				final BlockPos pos = new BlockPos(entity.posX, yy, entity.posZ);
-				if (!this.messyPos.equals(pos)) {
-					this.messyPos = pos;
-					final Association assos = findAssociationMessyFoliage(entity.getEntityWorld(), pos);
+				final int xx = MathStuff.floor(entity.posX);
+				final int zz = MathStuff.floor(entity.posZ);
+				if (this.messyPos.getX() != xx || this.messyPos.getY() != yy || this.messyPos.getZ() != zz) {
+					this.messyPos.setPos(xx, yy, zz);
+					final Association assos = findAssociationMessyFoliage(entity.getEntityWorld(), this.messyPos);
 					if (assos != null)
 						playAssociation(entity, assos, EventType.WALK);
 				}
@@ -398,33 +405,40 @@ public class Generator {
 	}
 
 	/**
-	 * Determines the actual footprint location based on the BlockPos provided. The
+	 * Determines the actual footprint height based on the BlockPos provided. The
 	 * print is to ride on top of the bounding box. If the block does not have a
-	 * print a null is returned.
+	 * print NaN is returned.
 	 *
 	 * @param entity
 	 *            The Entity generating the print
 	 * @param pos
 	 *            The block position where the footprint is to be placed on top
-	 * @param xx
-	 *            Calculated foot position for X
-	 * @param zz
-	 *            Calculated foot position for Z
-	 * @return Vector containing footprint coordinates or null if no footprint is to
-	 *         be generated
+	 * @return Y coordinate of the footprint or NaN if no footprint is to be
+	 *         generated
 	 */
-	@Nullable
-	protected Vec3d footstepPosition(@Nonnull final EntityLivingBase entity, @Nonnull final BlockPos pos,
-			final double xx, final double zz) {
+	protected double footstepHeight(@Nonnull final EntityLivingBase entity, @Nonnull final BlockPos pos) {
 		final World world = entity.getEntityWorld();
 		final IBlockState state = WorldUtils.getBlockState(world, pos);
 		if (hasFootstepImprint(world, state, pos)) {
 			final double entityY = entity.getEntityBoundingBox().minY;
 			final double blockY = pos.getY() + state.getBoundingBox(world, pos).maxY;
-			return new Vec3d(xx, Math.max(entityY, blockY), zz);
-
+			return Math.max(entityY, blockY);
 		}
-		return null;
+		return Double.NaN;
+	}
+
+	@Nonnull
+	protected Association obtainAssociation() {
+		if (this.associationCount == this.associations.size())
+			this.associations.add(new Association());
+		return this.associations.get(this.associationCount++);
+	}
+
+	@Nonnull
+	protected Footprint obtainFootprint() {
+		if (this.footprintCount == this.footprints.size())
+			this.footprints.add(new Footprint());
+		return this.footprints.get(this.footprintCount++);
 	}
 
 	protected boolean shouldProducePrint(@Nonnull final EntityLivingBase entity) {
@@ -450,22 +464,21 @@ public class Generator {
 		final double xx = entity.posX + MathStuff.cos(rot) * feetDistanceToCenter;
 		final double zz = entity.posZ + MathStuff.sin(rot) * feetDistanceToCenter;
 		final double minY = entity.getEntityBoundingBox().minY;
-		final BlockPos pos = new BlockPos(xx, minY - 0.1D - verticalOffsetAsMinus, zz);
+		this.footPos.setPos(xx, minY - 0.1D - verticalOffsetAsMinus, zz);
 
-		final Association result = addSoundOverlay(entity, findAssociationForLocation(entity, pos));
+		final Association result = addSoundOverlay(entity, findAssociationForLocation(entity, this.footPos));
 
 		// It is possible that the association has no position, so it
 		// needs to be checked.
 		if (result != null && result.getPos() != null && shouldProducePrint(entity)) {
-			final Vec3d printPos = footstepPosition(entity, result.getPos(), xx, zz);
-			if (printPos != null) {
+			final double printY = footstepHeight(entity, result.getPos());
+			if (!Double.isNaN(printY)) {
 				FootprintStyle style = this.VAR.FOOTPRINT_STYLE;
 				if (entity instanceof EntityPlayer) {
 					style = FootprintStyle.getStyle(ModOptions.effects.footprintStyle);
 				}
-				final Footprint print = Footprint.produce(style, entity, printPos, rotDegrees, this.VAR.FOOTPRINT_SCALE,
+				obtainFootprint().set(style, entity, xx, printY, zz, rotDegrees, this.VAR.FOOTPRINT_SCALE,
 						isRightFoot);
-				this.footprints.add(print);
 			}
 		}
 		return result;
@@ -526,9 +539,11 @@ public class Generator {
 				if (isXdangMax) {
 					// If we are in the positive border, add 1,
 					// else subtract 1
-					worked = findAssociationForBlock(world, xdang > 0 ? pos.east() : pos.west());
+					worked = findAssociationForBlock(world,
+							this.edgePos.setPos(pos).move(xdang > 0 ? EnumFacing.EAST : EnumFacing.WEST));
 				} else {
-					worked = findAssociationForBlock(world, zdang > 0 ? pos.south() : pos.north());
+					worked = findAssociationForBlock(world,
+							this.edgePos.setPos(pos).move(zdang > 0 ? EnumFacing.SOUTH : EnumFacing.NORTH));
 				}
 
 				// If that didn't work, then maybe the footstep hit in the
@@ -537,9 +552,11 @@ public class Generator {
 					// Take the maximum direction and try with
 					// the orthogonal direction of it
 					if (isXdangMax) {
-						worked = findAssociationForBlock(world, zdang > 0 ? pos.south() : pos.north());
+						worked = findAssociationForBlock(world,
+								this.edgePos.setPos(pos).move(zdang > 0 ? EnumFacing.SOUTH : EnumFacing.NORTH));
 					} else {
-						worked = findAssociationForBlock(world, xdang > 0 ? pos.east() : pos.west());
+						worked = findAssociationForBlock(world,
+								this.edgePos.setPos(pos).move(xdang > 0 ? EnumFacing.EAST : EnumFacing.WEST));
 					}
 				}
 			}
@@ -565,10 +582,11 @@ public class Generator {
 	protected Association findAssociationForBlock(@Nonnull final World world, @Nonnull BlockPos pos) {
 		final IBlockState airState = Blocks.AIR.getDefaultState();
 		IBlockState in = WorldUtils.getBlockState(world, pos);
-		BlockPos tPos = pos.up();
+		BlockPos tPos = this.abovePos.setPos(pos.getX(), pos.getY() + 1, pos.getZ());
 		final IBlockState above = WorldUtils.getBlockState(world, tPos);
 
 		IAcoustic[] association = null;
+		IAcoustic[] foliage = null;
 
 		if (above != airState)
 			association = this.blockMap.getBlockAcoustics(world, above, tPos, Substrate.CARPET);
@@ -579,7 +597,7 @@ public class Generator {
 			// on NOT_EMITTER carpets will not cause solving to skip
 
 			if (in == airState) {
-				tPos = pos.down();
+				tPos = this.belowPos.setPos(pos.getX(), pos.getY() - 1, pos.getZ());
 				final IBlockState below = WorldUtils.getBlockState(world, tPos);
 				association = this.blockMap.getBlockAcoustics(world, below, tPos, Substrate.FENCE);
 				if (association != null) {
@@ -599,11 +617,10 @@ public class Generator {
 				// if else group.
 
 				if (above != airState) {
-					final IAcoustic[] foliage = this.blockMap.getBlockAcoustics(world, above, pos.up(),
-							Substrate.FOLIAGE);
-					if (foliage != null && foliage != AcousticsManager.NOT_EMITTER) {
-						association = MyUtils.concatenate(association, foliage);
-					}
+					tPos = this.abovePos.setPos(pos.getX(), pos.getY() + 1, pos.getZ());
+					foliage = this.blockMap.getBlockAcoustics(world, above, tPos, Substrate.FOLIAGE);
+					if (foliage == AcousticsManager.NOT_EMITTER)
+						foliage = null;
 				}
 			}
 		} else {
@@ -617,12 +634,15 @@ public class Generator {
 				return null;
 			} else {
 				// Let's play the fancy acoustics we have defined for the block
-				return new Association(in, pos, association);
+				final Association result = obtainAssociation().set(in, pos, association);
+				if (foliage != null)
+					result.add(foliage);
+				return result;
 			}
 		} else {
 			// No acoustics. Calling logic will default to playing the normal block
 			// step sound if available.
-			return new Association(in, pos);
+			return obtainAssociation().set(in, pos, AcousticsManager.EMPTY);
 		}
 	}
 
@@ -635,7 +655,7 @@ public class Generator {
 			if (proceedWithStep(entity)) {
 				final float volume = (float) MathStuff.sqrt(entity.motionX * entity.motionX
 						+ entity.motionY * entity.motionY + entity.motionZ * entity.motionZ) * 1.25F;
-				final ConfigOptions options = new ConfigOptions();
+				final ConfigOptions options = this.swimOptions;
 				options.setGlidingVolume(volume > 1 ? 1 : volume);
 				// material water, see EntityLivingBase line 286
 				this.soundPlayer.playAcoustic(entity, AcousticsManager.SWIM,
@@ -657,7 +677,7 @@ public class Generator {
 	@Nullable
 	protected Association findAssociationMessyFoliage(@Nonnull final World world, @Nonnull final BlockPos pos) {
 		Association result = null;
-		final BlockPos up = pos.up();
+		final BlockPos up = this.abovePos.setPos(pos.getX(), pos.getY() + 1, pos.getZ());
 		final IBlockState above = WorldUtils.getBlockState(world, up);
 
 		if (above != Blocks.AIR.getDefaultState()) {
@@ -665,7 +685,7 @@ public class Generator {
 			if (acoustics == AcousticsManager.MESSY_GROUND) {
 				acoustics = this.blockMap.getBlockAcoustics(world, above, up, Substrate.FOLIAGE);
 				if (acoustics != null && acoustics != AcousticsManager.NOT_EMITTER)
-					result = new Association(acoustics);
+					result = obtainAssociation().set(null, null, acoustics);
 
 			}
 		}
@@ -685,7 +705,7 @@ public class Generator {
 			FootstepAccents.provide(entity, pos, accents);
 			if (accents.size() > 0) {
 				if (assoc == null)
-					assoc = new Association();
+					assoc = obtainAssociation().set(null, null, AcousticsManager.EMPTY);
 				assoc.add(accents);
 			}
 		}
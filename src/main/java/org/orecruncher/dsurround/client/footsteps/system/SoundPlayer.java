@@ -50,6 +50,7 @@ import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -69,7 +70,11 @@ public class SoundPlayer implements ISoundPlayer {
 		if (assoc.getNoAssociation()) {
 			playStep(entity, assoc, event);
 		} else {
-			playAcoustic(entity, assoc.getData(), event, null);
+			if (ModBase.log().isDebugging())
+				logAcousticPlay(assoc.getData(), event);
+			final ObjectArray<IAcoustic> acoustics = assoc.getAcoustics();
+			for (int i = 0; i < acoustics.size(); i++)
+				acoustics.get(i).playSound(this, entity, event, null);
 		}
 	}
 
@@ -99,7 +104,9 @@ public class SoundPlayer implements ISoundPlayer {
 			@Nonnull final EventType event) {
 		SoundType soundType = assoc.getSoundType();
 		if (soundType != null && !assoc.isLiquid()) {
-			final IBlockState upState = WorldUtils.getBlockState(entity.getEntityWorld(), assoc.getPos().up());
+			final BlockPos pos = assoc.getPos();
+			final IBlockState upState = WorldUtils.getBlockState(entity.getEntityWorld(), pos.getX(), pos.getY() + 1,
+					pos.getZ());
 			if (upState.getBlock() == Blocks.SNOW_LAYER)
 				soundType = MCHelper.getSoundType(upState);
 			final SoundEvent se = event == EventType.LAND ? soundType.getFallSound() : soundType.getStepSound();
@@ -139,6 +146,9 @@ public class SoundPlayer implements ISoundPlayer {
 	}
 
 	public void think() {
+		if (this.pending.isEmpty())
+			return;
+
 		final long time = TimeUtils.currentTimeMillis();
 
 		this.pending.removeIf(sound -> {
@@ -55,7 +55,8 @@ public class FootstepAccents {
 	@Nonnull
 	public static ObjectArray<IAcoustic> provide(@Nonnull final EntityLivingBase entity, @Nullable final BlockPos pos,
 			@Nonnull final ObjectArray<IAcoustic> in) {
-		providers.forEach(provider -> provider.provide(entity, pos, in));
+		for (int i = 0; i < providers.size(); i++)
+			providers.get(i).provide(entity, pos, in);
 		return in;
 	}
 }
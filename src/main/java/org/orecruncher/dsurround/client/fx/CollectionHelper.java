@@ -37,21 +37,17 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
-public class CollectionHelper {
+public class CollectionHelper<T extends ParticleCollection<?>> {
 
 	protected final String name;
-	protected final ICollectionFactory factory;
+	protected final ICollectionFactory<T> factory;
 	protected final ResourceLocation texture;
 
 	// Weak reference because the particle could be evicted from Minecraft's
 	// particle manager for some reason.
-	protected WeakReference<ParticleCollection> collection;
+	protected WeakReference<T> collection;
 
-	public CollectionHelper(@Nonnull final String name, @Nonnull final ResourceLocation texture) {
-		this(name, ParticleCollection.FACTORY, texture);
-	}
-
-	public CollectionHelper(@Nonnull final String name, @Nonnull final ICollectionFactory factory,
+	public CollectionHelper(@Nonnull final String name, @Nonnull final ICollectionFactory<T> factory,
 			@Nonnull final ResourceLocation texture) {
 		this.name = name;
 		this.texture = texture;
@@ -64,8 +60,8 @@ public class CollectionHelper {
 	}
 
 	@Nonnull
-	public ParticleCollection get() {
-		ParticleCollection pc = this.collection != null ? this.collection.get() : null;
+	public T get() {
+		T pc = this.collection != null ? this.collection.get() : null;
 		if (pc == null || !pc.isAlive() || pc.shouldDie()) {
 			pc = this.factory.create(EnvironState.getWorld(), this.texture);
 			this.collection = new WeakReference<>(pc);
@@ -75,7 +71,7 @@ public class CollectionHelper {
 	}
 
 	public void clear() {
-		final ParticleCollection pc = this.collection != null ? this.collection.get() : null;
+		final T pc = this.collection != null ? this.collection.get() : null;
 		if (pc != null) {
 			pc.setExpired();
 			this.collection = null;
@@ -86,7 +82,7 @@ public class CollectionHelper {
 	public String toString() {
 		final StringBuilder builder = new StringBuilder();
 		builder.append(this.name).append('=');
-		final ParticleCollection pc = this.collection != null ? this.collection.get() : null;
+		final T pc = this.collection != null ? this.collection.get() : null;
 		if (pc == null)
 			builder.append("No Collection");
 		else if (!pc.isAlive())
@@ -31,7 +31,6 @@ import javax.annotation.Nonnull;
 import org.orecruncher.dsurround.client.fx.particle.system.ParticleJet;
 import org.orecruncher.dsurround.client.handlers.EffectManager;
 import org.orecruncher.dsurround.client.handlers.ParticleSystemHandler;
-import org.orecruncher.dsurround.expression.ExpressionEngine;
 import org.orecruncher.lib.chunk.IBlockAccessEx;
 
 import net.minecraft.block.Block;
@@ -75,7 +74,7 @@ public abstract class JetEffect extends BlockEffect {
 			@Nonnull final BlockPos pos, @Nonnull final Random random) {
 		if (alwaysExecute() || random.nextInt(getChance()) == 0) {
 			final ParticleSystemHandler ps = EffectManager.instance().lookupService(ParticleSystemHandler.class);
-			return ps.okToSpawn(pos) && ExpressionEngine.instance().check(getConditions());
+			return ps.okToSpawn(pos) && checkConditions();
 		}
 		return false;
 	}
@@ -34,13 +34,9 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
-public class LightedCollectionHelper extends CollectionHelper {
+public class LightedCollectionHelper<T extends ParticleCollection<?>> extends CollectionHelper<T> {
 
-	public LightedCollectionHelper(@Nonnull final String name, @Nonnull final ResourceLocation texture) {
-		this(name, ParticleCollection.FACTORY, texture);
-	}
-
-	public LightedCollectionHelper(@Nonnull final String name, @Nonnull final ICollectionFactory factory,
+	public LightedCollectionHelper(@Nonnull final String name, @Nonnull final ICollectionFactory<T> factory,
 			@Nonnull final ResourceLocation texture) {
 		super(name, factory, texture);
 		MinecraftForge.EVENT_BUS.register(this);
@@ -30,19 +30,20 @@ import javax.annotation.Nullable;
 import org.orecruncher.dsurround.ModBase;
 import org.orecruncher.dsurround.client.footsteps.interfaces.FootprintStyle;
 import org.orecruncher.dsurround.client.fx.particle.mote.IParticleMote;
-import org.orecruncher.dsurround.client.fx.particle.mote.MoteFireFly;
-import org.orecruncher.dsurround.client.fx.particle.mote.MoteFootprint;
-import org.orecruncher.dsurround.client.fx.particle.mote.MoteRainSplash;
-import org.orecruncher.dsurround.client.fx.particle.mote.MoteWaterRipple;
-import org.orecruncher.dsurround.client.fx.particle.mote.MoteWaterSpray;
+import org.orecruncher.dsurround.client.fx.particle.mote.MoteStoreSpray;
+import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollection;
 import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollectionFireFly;
 import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollectionFootprint;
 import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollectionRipples;
 import org.orecruncher.dsurround.event.DiagnosticEvent;
+import org.orecruncher.dsurround.registry.biome.BiomeUtil;
+import org.orecruncher.lib.Color;
+import org.orecruncher.lib.WorldUtils;
 
 import net.minecraft.client.multiplayer.WorldClient;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.ResourceLocation;
-import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.world.World;
 import net.minecraftforge.event.world.WorldEvent;
@@ -61,34 +62,33 @@ public final class ParticleCollections {
 			"textures/particles/footprint.png");
 	private static final ResourceLocation FIREFLY_TEXTURE = new ResourceLocation("textures/particle/particles.png");
 
-	private final static CollectionHelper theRipples = new CollectionHelper("Rain Ripples",
-			ParticleCollectionRipples.FACTORY, RIPPLE_TEXTURE);
-	private final static CollectionHelper theSprays = new CollectionHelper("Water Spray", SPRAY_TEXTURE);
-	private final static CollectionHelper thePrints = new CollectionHelper("Footprints",
-			ParticleCollectionFootprint.FACTORY, FOOTPRINT_TEXTURE);
-	private final static CollectionHelper theFireFlies = new LightedCollectionHelper("Fireflies",
-			ParticleCollectionFireFly.FACTORY, FIREFLY_TEXTURE);
+	private final static CollectionHelper<ParticleCollectionRipples> theRipples = new CollectionHelper<>(
+			"Rain Ripples", ParticleCollectionRipples.FACTORY, RIPPLE_TEXTURE);
+	private final static CollectionHelper<ParticleCollection<MoteStoreSpray>> theSprays = new CollectionHelper<>(
+			"Water Spray", ParticleCollection.SPRAY_FACTORY, SPRAY_TEXTURE);
+	private final static CollectionHelper<ParticleCollectionFootprint> thePrints = new CollectionHelper<>(
+			"Footprints", ParticleCollectionFootprint.FACTORY, FOOTPRINT_TEXTURE);
+	private final static CollectionHelper<ParticleCollectionFireFly> theFireFlies = new LightedCollectionHelper<>(
+			"Fireflies", ParticleCollectionFireFly.FACTORY, FIREFLY_TEXTURE);
 
 	@Nullable
 	public static IParticleMote addWaterRipple(@Nonnull final World world, final double x, final double y,
 			final double z) {
-		IParticleMote mote = null;
-		if (theRipples.get().canFit()) {
-			mote = new MoteWaterRipple(world, x, y, z);
-			theRipples.get().addParticle(mote);
-		}
-		return mote;
+		final ParticleCollectionRipples pc = theRipples.get();
+		if (!pc.canFit())
+			return null;
+		final Color waterColor = BiomeUtil.getColorForLiquid(world, new BlockPos(x, y, z));
+		return pc.getMotes().addRipple(x, y, z, waterColor.red, waterColor.green, waterColor.blue);
 	}
 
 	@Nullable
 	public static IParticleMote addWaterSpray(@Nonnull final World world, final double x, final double y,
 			final double z, final double dX, final double dY, final double dZ) {
-		IParticleMote mote = null;
-		if (theSprays.get().canFit()) {
-			mote = new MoteWaterSpray(world, x, y, z, dX, dY, dZ);
-			theSprays.get().addParticle(mote);
-		}
-		return mote;
+		final ParticleCollection<MoteStoreSpray> pc = theSprays.get();
+		if (!pc.canFit())
+			return null;
+		final Color waterColor = BiomeUtil.getColorForLiquid(world, new BlockPos(x, y, z));
+		return pc.getMotes().addSpray(x, y, z, dX, dY, dZ, waterColor.red, waterColor.green, waterColor.blue);
 	}
 
 	public static boolean canFitWaterSpray() {
@@ -98,33 +98,23 @@ public final class ParticleCollections {
 	@Nullable
 	public static IParticleMote addRainSplash(@Nonnull final World world, final double x, final double y,
 			final double z) {
-		IParticleMote mote = null;
-		if (theSprays.get().canFit()) {
-			mote = new MoteRainSplash(world, x, y, z);
-			theSprays.get().addParticle(mote);
-		}
-		return mote;
+		return theSprays.get().getMotes().addRainSplash(x, y, z);
 	}
 
 	@Nullable
 	public static IParticleMote addFootprint(@Nonnull final FootprintStyle style, @Nonnull final World world,
-			final Vec3d loc, final float rot, final float scale, final boolean isRight) {
-		IParticleMote mote = null;
-		if (thePrints.get().canFit()) {
-			mote = new MoteFootprint(style, world, loc.x, loc.y, loc.z, rot, scale, isRight);
-			thePrints.get().addParticle(mote);
-		}
-		return mote;
+			final double x, final double y, final double z, final float rot, final float scale, final boolean isRight) {
+		final ParticleCollectionFootprint pc = thePrints.get();
+		if (!pc.canFit())
+			return null;
+		final boolean isSnowLayer = WorldUtils.getBlockState(world, new BlockPos(x, y, z))
+				.getBlock() == Blocks.SNOW_LAYER;
+		return pc.getMotes().addFootprint(style.ordinal(), x, y, z, rot, scale, isRight, isSnowLayer);
 	}
 
 	@Nullable
 	public static IParticleMote addFireFly(@Nonnull final World world, final double x, final double y, final double z) {
-		IParticleMote mote = null;
-		if (theFireFlies.get().canFit()) {
-			mote = new MoteFireFly(world, x, y, z);
-			theFireFlies.get().addParticle(mote);
-		}
-		return mote;
+		return theFireFlies.get().getMotes().addFireFly(x, y, z);
 	}
 
 	@SubscribeEvent
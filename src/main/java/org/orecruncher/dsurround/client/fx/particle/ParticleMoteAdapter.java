@@ -57,12 +57,10 @@ public final class ParticleMoteAdapter implements IParticleMote {
 		this.particle.setExpired();
 	}
 
-	@Override
 	public void onUpdate() {
 		this.particle.onUpdate();
 	}
 
-	@Override
 	public void renderParticle(BufferBuilder buffer, Entity entityIn, float partialTicks, float rotX, float rotZ,
 			float rotYZ, float rotXY, float rotXZ) {
 		this.particle.renderParticle(buffer, entityIn, partialTicks, rotX, rotZ, rotYZ, rotXY, rotXZ);
@@ -24,38 +24,31 @@
 
 package org.orecruncher.dsurround.client.fx.particle.mote;
 
-import javax.annotation.Nonnull;
-
-import net.minecraft.world.World;
-import net.minecraftforge.fml.relauncher.Side;
-import net.minecraftforge.fml.relauncher.SideOnly;
-
 /**
- * A particle that has a life span based on age.
+ * The parts of the world a mote store needs while updating. Kept narrow so the
+ * stores can be exercised without a running client.
  */
-@SideOnly(Side.CLIENT)
-public abstract class MoteAgeable extends MoteParticle {
-
-	protected int age;
-	protected int maxAge;
-
-	protected MoteAgeable(@Nonnull final World world, final double x, final double y, final double z) {
-		super(world, x, y, z);
-		this.age = 0;
-	}
-
-	protected boolean advanceAge() {
-		return this.age++ >= this.maxAge;
-	}
-
-	@Override
-	public void onUpdate() {
-
-		// The mote reached it's life expectancy
-		if (advanceAge())
-			kill();
-
-		super.onUpdate();
-	}
+public interface IMoteWorld {
+
+	/**
+	 * Combined sky and block light at the given block, packed the same way as
+	 * World.getCombinedLight().
+	 */
+	int getCombinedLight(final int x, final int y, final int z);
+
+	/**
+	 * Indicates if the block at the given position has a solid material.
+	 */
+	boolean isSolid(final int x, final int y, final int z);
+
+	/**
+	 * Indicates if the block at the given position is a snow layer.
+	 */
+	boolean isSnowLayer(final int x, final int y, final int z);
+
+	/**
+	 * Current rain intensity, or 0 if it is not raining.
+	 */
+	float getRainIntensity();
 
 }
@@ -24,8 +24,6 @@
 
 package org.orecruncher.dsurround.client.fx.particle.mote;
 
-import net.minecraft.client.renderer.BufferBuilder;
-import net.minecraft.entity.Entity;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -46,15 +44,4 @@ public interface IParticleMote {
 	 */
 	void kill();
 
-	/**
-	 * Causes the mote to update advancing it's state one tick.
-	 */
-	void onUpdate();
-
-	/**
-	 * Causes the mote to render itself.
-	 */
-	void renderParticle(final BufferBuilder buffer, final Entity entityIn, final float partialTicks, final float rotX,
-			final float rotZ, final float rotYZ, final float rotXY, final float rotXZ);
-
 }
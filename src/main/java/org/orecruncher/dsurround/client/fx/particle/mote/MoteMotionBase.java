@@ -1,108 +0,0 @@
-/*
- * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
- *
- * Copyright (c) OreCruncher
- *
- * Permission is hereby granted, free of charge, to any person obtaining a copy
- * of this software and associated documentation files (the "Software"), to deal
- * in the Software without restriction, including without limitation the rights
- * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
- * copies of the Software, and to permit persons to whom the Software is
- * furnished to do so, subject to the following conditions:
- *
- * The above copyright notice and this permission notice shall be included in
- * all copies or substantial portions of the Software.
- *
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
- * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
- * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
- * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
- * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
- * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
- * THE SOFTWARE.
- */
-
-package org.orecruncher.dsurround.client.fx.particle.mote;
-
-import javax.annotation.Nonnull;
-
-import org.orecruncher.lib.chunk.ClientChunkCache;
-
-import net.minecraft.world.World;
-import net.minecraftforge.fml.relauncher.Side;
-import net.minecraftforge.fml.relauncher.SideOnly;
-
-/**
- * A particle that is capable of moving it's position in the world.
- */
-@SideOnly(Side.CLIENT)
-public abstract class MoteMotionBase extends MoteAgeable {
-
-	protected double motionX;
-	protected double motionY;
-	protected double motionZ;
-	protected double gravity;
-
-	protected double prevX;
-	protected double prevY;
-	protected double prevZ;
-
-	protected MoteMotionBase(@Nonnull final World world, final double x, final double y, final double z,
-			final double dX, final double dY, final double dZ) {
-		super(world, x, y, z);
-		this.prevX = this.posX;
-		this.prevY = this.posY;
-		this.prevZ = this.posZ;
-		this.motionX = dX;
-		this.motionY = dY;
-		this.motionZ = dZ;
-		this.gravity = 0.06D;
-	}
-
-	@Override
-	protected float renderX(final float partialTicks) {
-		return (float) (this.prevX + (this.posX - this.prevX) * partialTicks - interpX());
-	}
-
-	@Override
-	protected float renderY(final float partialTicks) {
-		return (float) (this.prevY + (this.posY - this.prevY) * partialTicks - interpY());
-	}
-
-	@Override
-	protected float renderZ(final float partialTicks) {
-		return (float) (this.prevZ + (this.posZ - this.prevZ) * partialTicks - interpZ());
-	}
-
-	protected boolean hasCollided() {
-		return ClientChunkCache.instance().getBlockState(this.position).getMaterial().isSolid();
-	}
-
-	protected void handleCollision() {
-		kill();
-	}
-
-	@Override
-	protected void update() {
-
-		this.prevX = this.posX;
-		this.prevY = this.posY;
-		this.prevZ = this.posZ;
-		this.motionY -= this.gravity;
-
-		this.posX += this.motionX;
-		this.posY += this.motionY;
-		this.posZ += this.motionZ;
-
-		this.position.setPos(this.posX, this.posY, this.posZ);
-
-		if (hasCollided()) {
-			handleCollision();
-		} else {
-			this.motionX *= 0.9800000190734863D;
-			this.motionY *= 0.9800000190734863D;
-			this.motionZ *= 0.9800000190734863D;
-		}
-	}
-
-}
@@ -0,0 +1,327 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.lib.math.MathStuff;
+import org.orecruncher.lib.random.XorShiftRandom;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Holds the motes of a collection as parallel primitive arrays rather than an
+ * object per mote. Dead motes are compacted by moving the last mote into their
+ * slot, so the live motes always occupy [0, size()). Subclasses add the arrays
+ * and the update/render logic for a particular type of mote.
+ */
+@SideOnly(Side.CLIENT)
+public abstract class MoteStore {
+
+	public static final int MAX_MOTES = 4000;
+	protected static final int ALLOCATION_SIZE = 128;
+
+	protected static final Random RANDOM = XorShiftRandom.current();
+
+	protected int count;
+	protected int capacity;
+
+	protected double[] posX = new double[0];
+	protected double[] posY = new double[0];
+	protected double[] posZ = new double[0];
+
+	// Block used for light and collision checks
+	protected int[] blockX = new int[0];
+	protected int[] blockY = new int[0];
+	protected int[] blockZ = new int[0];
+
+	protected int[] age = new int[0];
+	protected int[] maxAge = new int[0];
+
+	protected float[] red = new float[0];
+	protected float[] green = new float[0];
+	protected float[] blue = new float[0];
+	protected float[] alpha = new float[0];
+
+	// Combined light as returned by World.getCombinedLight()
+	protected int[] light = new int[0];
+
+	protected boolean[] dead = new boolean[0];
+	protected Handle[] handles = new Handle[0];
+
+	// Light sampled during the current update keyed by block position. Motes
+	// that sit in the same block share a single lookup.
+	private final Long2IntOpenHashMap lightCache = new Long2IntOpenHashMap();
+	private long lastLightKey;
+	private int lastLight = -1;
+
+	// Per frame render state
+	protected float partialTicks;
+	protected float rotX;
+	protected float rotZ;
+	protected float rotYZ;
+	protected float rotXY;
+	protected float rotXZ;
+	protected double viewX;
+	protected double viewY;
+	protected double viewZ;
+
+	protected MoteStore() {
+		this.lightCache.defaultReturnValue(-1);
+	}
+
+	public int size() {
+		return this.count;
+	}
+
+	public boolean canFit() {
+		return this.count < MAX_MOTES;
+	}
+
+	/**
+	 * Grows the arrays to the given capacity. Subclasses that add arrays have
+	 * to grow them as well.
+	 */
+	protected void resize(final int newCapacity) {
+		this.capacity = newCapacity;
+		this.posX = Arrays.copyOf(this.posX, newCapacity);
+		this.posY = Arrays.copyOf(this.posY, newCapacity);
+		this.posZ = Arrays.copyOf(this.posZ, newCapacity);
+		this.blockX = Arrays.copyOf(this.blockX, newCapacity);
+		this.blockY = Arrays.copyOf(this.blockY, newCapacity);
+		this.blockZ = Arrays.copyOf(this.blockZ, newCapacity);
+		this.age = Arrays.copyOf(this.age, newCapacity);
+		this.maxAge = Arrays.copyOf(this.maxAge, newCapacity);
+		this.red = Arrays.copyOf(this.red, newCapacity);
+		this.green = Arrays.copyOf(this.green, newCapacity);
+		this.blue = Arrays.copyOf(this.blue, newCapacity);
+		this.alpha = Arrays.copyOf(this.alpha, newCapacity);
+		this.light = Arrays.copyOf(this.light, newCapacity);
+		this.dead = Arrays.copyOf(this.dead, newCapacity);
+		this.handles = Arrays.copyOf(this.handles, newCapacity);
+	}
+
+	/**
+	 * Copies the mote in slot from into slot to. Subclasses that add arrays have
+	 * to copy them as well.
+	 */
+	protected void move(final int from, final int to) {
+		this.posX[to] = this.posX[from];
+		this.posY[to] = this.posY[from];
+		this.posZ[to] = this.posZ[from];
+		this.blockX[to] = this.blockX[from];
+		this.blockY[to] = this.blockY[from];
+		this.blockZ[to] = this.blockZ[from];
+		this.age[to] = this.age[from];
+		this.maxAge[to] = this.maxAge[from];
+		this.red[to] = this.red[from];
+		this.green[to] = this.green[from];
+		this.blue[to] = this.blue[from];
+		this.alpha[to] = this.alpha[from];
+		this.light[to] = this.light[from];
+		this.dead[to] = this.dead[from];
+		this.handles[to] = this.handles[from];
+		this.handles[to].index = to;
+	}
+
+	/**
+	 * Claims a slot for a new mote at the given position with a white color and
+	 * no light. Returns -1 if the store is full.
+	 */
+	protected int allocate(final double x, final double y, final double z) {
+		if (!canFit())
+			return -1;
+
+		if (this.count == this.capacity)
+			resize(this.capacity == 0 ? ALLOCATION_SIZE : Math.min(this.capacity * 2, MAX_MOTES));
+
+		final int i = this.count++;
+		this.posX[i] = x;
+		this.posY[i] = y;
+		this.posZ[i] = z;
+		this.blockX[i] = MathStuff.floor(x);
+		this.blockY[i] = MathStuff.floor(y);
+		this.blockZ[i] = MathStuff.floor(z);
+		this.age[i] = 0;
+		this.maxAge[i] = 0;
+		this.red[i] = this.green[i] = this.blue[i] = this.alpha[i] = 1F;
+		this.light[i] = 0;
+		this.dead[i] = false;
+		this.handles[i] = new Handle(this, i);
+		return i;
+	}
+
+	@Nullable
+	protected IParticleMote handle(final int i) {
+		return i < 0 ? null : this.handles[i];
+	}
+
+	/**
+	 * Releases the mote in slot i by moving the last mote into its place.
+	 */
+	protected void remove(final int i) {
+		this.handles[i].index = -1;
+		final int last = --this.count;
+		if (i != last)
+			move(last, i);
+		this.handles[last] = null;
+	}
+
+	public void clear() {
+		for (int i = 0; i < this.count; i++) {
+			this.handles[i].index = -1;
+			this.handles[i] = null;
+		}
+		this.count = 0;
+	}
+
+	/**
+	 * Advances every mote one tick and compacts out the ones that died.
+	 */
+	public void update(@Nonnull final IMoteWorld world) {
+		this.lightCache.clear();
+		this.lastLight = -1;
+
+		int i = 0;
+		while (i < this.count) {
+			if (!this.dead[i] && !advanceAge(world, i) && update(world, i)) {
+				updateLight(world, i);
+				i++;
+			} else {
+				// The last mote moves into this slot so it has to be looked at again
+				remove(i);
+			}
+		}
+	}
+
+	/**
+	 * Ages the mote and returns true if it reached its life expectancy.
+	 */
+	protected boolean advanceAge(@Nonnull final IMoteWorld world, final int i) {
+		return this.age[i]++ >= this.maxAge[i];
+	}
+
+	/**
+	 * Per type update of a mote. Returns false if the mote died.
+	 */
+	protected abstract boolean update(@Nonnull final IMoteWorld world, final int i);
+
+	protected void updateLight(@Nonnull final IMoteWorld world, final int i) {
+		this.light[i] = getCombinedLight(world, this.blockX[i], this.blockY[i], this.blockZ[i]);
+	}
+
+	protected final int getCombinedLight(@Nonnull final IMoteWorld world, final int x, final int y, final int z) {
+		// Same packing as BlockPos.toLong()
+		final long key = ((long) x & 0x3FFFFFFL) << 38 | ((long) y & 0xFFFL) << 26 | ((long) z & 0x3FFFFFFL);
+		if (this.lastLight >= 0 && key == this.lastLightKey)
+			return this.lastLight;
+
+		int light = this.lightCache.get(key);
+		if (light < 0) {
+			light = world.getCombinedLight(x, y, z);
+			this.lightCache.put(key, light);
+		}
+		this.lastLightKey = key;
+		this.lastLight = light;
+		return light;
+	}
+
+	/**
+	 * Emits the vertices of every live mote into the buffer. The caller owns
+	 * begin() and draw() so a collection is drawn with a single batch.
+	 */
+	public void render(@Nonnull final BufferBuilder buffer, final float partialTicks, final float rotX,
+			final float rotZ, final float rotYZ, final float rotXY, final float rotXZ, final double viewX,
+			final double viewY, final double viewZ) {
+		this.partialTicks = partialTicks;
+		this.rotX = rotX;
+		this.rotZ = rotZ;
+		this.rotYZ = rotYZ;
+		this.rotXY = rotXY;
+		this.rotXZ = rotXZ;
+		this.viewX = viewX;
+		this.viewY = viewY;
+		this.viewZ = viewZ;
+
+		for (int i = 0; i < this.count; i++)
+			if (!this.dead[i])
+				render(buffer, i);
+	}
+
+	protected abstract void render(@Nonnull final BufferBuilder buffer, final int i);
+
+	protected float renderX(final int i) {
+		return (float) (this.posX[i] - this.viewX);
+	}
+
+	protected float renderY(final int i) {
+		return (float) (this.posY[i] - this.viewY);
+	}
+
+	protected float renderZ(final int i) {
+		return (float) (this.posZ[i] - this.viewZ);
+	}
+
+	protected final void drawVertex(@Nonnull final BufferBuilder buffer, final int i, final double x,
+			final double y, final double z, final double u, final double v) {
+		final int combinedLight = this.light[i];
+		buffer.pos(x, y, z).tex(u, v).color(this.red[i], this.green[i], this.blue[i], this.alpha[i])
+				.lightmap(combinedLight >> 16 & 65535, combinedLight & 65535).endVertex();
+	}
+
+	/**
+	 * Thin handle given out to callers. It follows its mote as the store
+	 * compacts and goes dead once the mote has been released.
+	 */
+	public static final class Handle implements IParticleMote {
+
+		private final MoteStore store;
+		private int index;
+
+		private Handle(@Nonnull final MoteStore store, final int index) {
+			this.store = store;
+			this.index = index;
+		}
+
+		@Override
+		public boolean isAlive() {
+			return this.index >= 0 && !this.store.dead[this.index];
+		}
+
+		@Override
+		public void kill() {
+			if (this.index >= 0)
+				this.store.dead[this.index] = true;
+		}
+	}
+
+}
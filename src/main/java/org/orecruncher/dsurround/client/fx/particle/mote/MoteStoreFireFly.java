@@ -0,0 +1,180 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.lib.Color;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Fireflies that drift about and blink as they fade out.
+ */
+@SideOnly(Side.CLIENT)
+public class MoteStoreFireFly extends MoteStoreMotion {
+
+	private static final Color START_COLOR = Color.YELLOW;
+	private static final Color FADE_COLOR = Color.LGREEN;
+
+	private static final float XZ_MOTION_DELTA = 0.2F;
+	private static final float Y_MOTION_DELTA = XZ_MOTION_DELTA / 2.0F;
+	private static final float ACCELERATION = 0.004F;
+	private static final double AIR_FRICTION = 0.91F;
+
+	// Full bright regardless of the light at the firefly
+	private static final int BRIGHTNESS = 15728880;
+
+	/**
+	 * The base texture index. The texture index starts at this + (AGING_FRAMES -
+	 * 1), and works its way down to this number as the particle decays.
+	 */
+	private static final int TEXTURE_IDX = 160;
+	private static final int AGING_FRAMES = 8;
+
+	protected double[] accelX = new double[0];
+	protected double[] accelY = new double[0];
+	protected double[] accelZ = new double[0];
+	protected float[] scale = new float[0];
+	protected int[] textureIndex = new int[0];
+	protected boolean[] doRender = new boolean[0];
+
+	public MoteStoreFireFly() {
+		super(0D);
+	}
+
+	@Override
+	protected void resize(final int newCapacity) {
+		super.resize(newCapacity);
+		this.accelX = Arrays.copyOf(this.accelX, newCapacity);
+		this.accelY = Arrays.copyOf(this.accelY, newCapacity);
+		this.accelZ = Arrays.copyOf(this.accelZ, newCapacity);
+		this.scale = Arrays.copyOf(this.scale, newCapacity);
+		this.textureIndex = Arrays.copyOf(this.textureIndex, newCapacity);
+		this.doRender = Arrays.copyOf(this.doRender, newCapacity);
+	}
+
+	@Override
+	protected void move(final int from, final int to) {
+		super.move(from, to);
+		this.accelX[to] = this.accelX[from];
+		this.accelY[to] = this.accelY[from];
+		this.accelZ[to] = this.accelZ[from];
+		this.scale[to] = this.scale[from];
+		this.textureIndex[to] = this.textureIndex[from];
+		this.doRender[to] = this.doRender[from];
+	}
+
+	@Nullable
+	public IParticleMote addFireFly(final double x, final double y, final double z) {
+		final int i = allocate(x, y, z, RANDOM.nextGaussian() * XZ_MOTION_DELTA,
+				RANDOM.nextGaussian() * Y_MOTION_DELTA, RANDOM.nextGaussian() * XZ_MOTION_DELTA);
+		if (i < 0)
+			return null;
+
+		this.accelX[i] = RANDOM.nextGaussian() * ACCELERATION;
+		this.accelY[i] = RANDOM.nextGaussian() / 2.0D * ACCELERATION;
+		this.accelZ[i] = RANDOM.nextGaussian() * ACCELERATION;
+
+		this.scale[i] = (RANDOM.nextFloat() * 0.5F + 0.5F) * 2.0F * 0.75F * 0.25F * 0.1F;
+		this.maxAge[i] = 48 + RANDOM.nextInt(12);
+		this.textureIndex[i] = TEXTURE_IDX;
+		this.doRender[i] = false;
+
+		this.red[i] = START_COLOR.red;
+		this.green[i] = START_COLOR.green;
+		this.blue[i] = START_COLOR.blue;
+		this.light[i] = BRIGHTNESS;
+
+		return handle(i);
+	}
+
+	@Override
+	protected boolean handleCollision(final int i) {
+		this.motionX[i] *= 0.699999988079071D;
+		this.motionZ[i] *= 0.699999988079071D;
+		return true;
+	}
+
+	@Override
+	protected boolean update(@Nonnull final IMoteWorld world, final int i) {
+
+		this.motionX[i] = (this.motionX[i] + this.accelX[i]) * AIR_FRICTION;
+		this.motionY[i] = (this.motionY[i] + this.accelY[i]) * AIR_FRICTION;
+		this.motionZ[i] = (this.motionZ[i] + this.accelZ[i]) * AIR_FRICTION;
+
+		super.update(world, i);
+
+		final int age = this.age[i];
+		final int maxAge = this.maxAge[i];
+
+		if (age > maxAge / 2) {
+			this.alpha[i] = (1.0F - ((float) age - (float) (maxAge / 2)) / maxAge);
+			this.red[i] += (FADE_COLOR.red - this.red[i]) * 0.2F;
+			this.green[i] += (FADE_COLOR.green - this.green[i]) * 0.2F;
+			this.blue[i] += (FADE_COLOR.blue - this.blue[i]) * 0.2F;
+		}
+
+		this.textureIndex[i] = TEXTURE_IDX + (AGING_FRAMES - 1 - age * AGING_FRAMES / maxAge);
+		this.doRender[i] = age < maxAge / 3 || (age + maxAge) / 3 % 2 == 0;
+		return true;
+	}
+
+	@Override
+	protected void updateLight(@Nonnull final IMoteWorld world, final int i) {
+		// Brightness is fixed when the firefly is added
+	}
+
+	@Override
+	protected void render(@Nonnull final BufferBuilder buffer, final int i) {
+		if (!this.doRender[i])
+			return;
+
+		final double x = renderX(i);
+		final double y = renderY(i);
+		final double z = renderZ(i);
+
+		final float scale = this.scale[i];
+		final float texU1 = (this.textureIndex[i] % 16) / 16F;
+		final float texU2 = texU1 + 0.0624375F;
+		final float texV1 = (this.textureIndex[i] / 16) / 16F;
+		final float texV2 = texV1 + 0.0624375F;
+
+		drawVertex(buffer, i, x + (-this.rotX * scale - this.rotXY * scale), y + (-this.rotZ * scale),
+				z + (-this.rotYZ * scale - this.rotXZ * scale), texU2, texV2);
+		drawVertex(buffer, i, x + (-this.rotX * scale + this.rotXY * scale), y + (this.rotZ * scale),
+				z + (-this.rotYZ * scale + this.rotXZ * scale), texU2, texV1);
+		drawVertex(buffer, i, x + (this.rotX * scale + this.rotXY * scale), y + (this.rotZ * scale),
+				z + (this.rotYZ * scale + this.rotXZ * scale), texU1, texV1);
+		drawVertex(buffer, i, x + (this.rotX * scale - this.rotXY * scale), y + (-this.rotZ * scale),
+				z + (this.rotYZ * scale - this.rotXZ * scale), texU1, texV2);
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.lib.math.MathStuff;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Footprints left on the ground by walking entities.
+ */
+@SideOnly(Side.CLIENT)
+public class MoteStoreFootprint extends MoteStore {
+
+	// Texture properties of the print
+	private static final float TEXEL_WIDTH = 1F / 8F;
+	private static final float TEXEL_PRINT_WIDTH = TEXEL_WIDTH / 2F;
+
+	// Basic layout of the footprint. The corners are stored as x,z pairs.
+	private static final float WIDTH = 0.125F;
+	private static final float LENGTH = WIDTH * 2.0F;
+	private static final float[] CORNERS = { -WIDTH, LENGTH, WIDTH, LENGTH, WIDTH, -LENGTH, -WIDTH, -LENGTH };
+
+	// Micro Y adjuster to avoid z-fighting when rendering
+	// multiple overlapping prints.
+	private static float zFighter = 0F;
+
+	protected boolean[] isSnowLayer = new boolean[0];
+	protected int[] downY = new int[0];
+	protected float[] texU1 = new float[0];
+
+	// Rotated and scaled corners, 8 floats per print
+	protected float[] points = new float[0];
+
+	@Override
+	protected void resize(final int newCapacity) {
+		super.resize(newCapacity);
+		this.isSnowLayer = Arrays.copyOf(this.isSnowLayer, newCapacity);
+		this.downY = Arrays.copyOf(this.downY, newCapacity);
+		this.texU1 = Arrays.copyOf(this.texU1, newCapacity);
+		this.points = Arrays.copyOf(this.points, newCapacity * CORNERS.length);
+	}
+
+	@Override
+	protected void move(final int from, final int to) {
+		super.move(from, to);
+		this.isSnowLayer[to] = this.isSnowLayer[from];
+		this.downY[to] = this.downY[from];
+		this.texU1[to] = this.texU1[from];
+		System.arraycopy(this.points, from * CORNERS.length, this.points, to * CORNERS.length, CORNERS.length);
+	}
+
+	@Nullable
+	public IParticleMote addFootprint(final int style, final double x, final double y, final double z,
+			final float rotation, final float scale, final boolean isRight, final boolean isSnowLayer) {
+		final int i = allocate(x, y, z);
+		if (i < 0)
+			return null;
+
+		this.maxAge[i] = 200;
+
+		if (++zFighter > 20)
+			zFighter = 1;
+
+		this.isSnowLayer[i] = isSnowLayer;
+		this.posY[i] += zFighter * 0.001F;
+
+		// Make sure that the down position is calculated from the display position!
+		this.downY[i] = MathStuff.floor(this.posY[i]) - 1;
+
+		float u1 = style * TEXEL_WIDTH + 1 / 256F;
+		if (isRight)
+			u1 += TEXEL_PRINT_WIDTH;
+		this.texU1[i] = u1;
+
+		// Rotate our vertex coordinates. Since prints are static
+		// doing the rotation on the vertex points during
+		// constructions makes for a much more efficient render
+		// process.
+		final float theRotation = MathStuff.toRadians(-rotation + 180);
+		final float cos = MathStuff.cos(theRotation);
+		final float sin = MathStuff.sin(theRotation);
+		final int base = i * CORNERS.length;
+		for (int c = 0; c < CORNERS.length; c += 2) {
+			final float px = CORNERS[c];
+			final float pz = CORNERS[c + 1];
+			this.points[base + c] = (px * cos + pz * sin) * scale;
+			this.points[base + c + 1] = (pz * cos - px * sin) * scale;
+		}
+
+		return handle(i);
+	}
+
+	@Override
+	protected boolean advanceAge(@Nonnull final IMoteWorld world, final int i) {
+		// Footprints age faster when raining
+		final float intensity = world.getRainIntensity();
+		if (intensity > 0)
+			this.age[i] += (intensity * 100F) / 25;
+		return super.advanceAge(world, i);
+	}
+
+	@Override
+	protected boolean update(@Nonnull final IMoteWorld world, final int i) {
+		if (!world.isSolid(this.blockX[i], this.downY[i], this.blockZ[i]))
+			return false;
+		return !this.isSnowLayer[i] || world.isSnowLayer(this.blockX[i], this.blockY[i], this.blockZ[i]);
+	}
+
+	@Override
+	protected void render(@Nonnull final BufferBuilder buffer, final int i) {
+		float f = (this.age[i] + this.partialTicks) / ((float) this.maxAge[i] + 1);
+		f = f * f;
+		this.alpha[i] = MathStuff.clamp(1.0F - f, 0F, 1F) * 0.4F;
+
+		final double x = renderX(i);
+		final double y = renderY(i);
+		final double z = renderZ(i);
+
+		final float texU1 = this.texU1[i];
+		final float texU2 = texU1 + TEXEL_PRINT_WIDTH;
+		final int p = i * CORNERS.length;
+
+		drawVertex(buffer, i, x + this.points[p], y, z + this.points[p + 1], texU1, 1F);
+		drawVertex(buffer, i, x + this.points[p + 2], y, z + this.points[p + 3], texU2, 1F);
+		drawVertex(buffer, i, x + this.points[p + 4], y, z + this.points[p + 5], texU2, 0F);
+		drawVertex(buffer, i, x + this.points[p + 6], y, z + this.points[p + 7], texU1, 0F);
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.lib.math.MathStuff;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Store for motes that move through the world under gravity.
+ */
+@SideOnly(Side.CLIENT)
+public abstract class MoteStoreMotion extends MoteStore {
+
+	protected final double gravity;
+
+	protected double[] motionX = new double[0];
+	protected double[] motionY = new double[0];
+	protected double[] motionZ = new double[0];
+
+	protected double[] prevX = new double[0];
+	protected double[] prevY = new double[0];
+	protected double[] prevZ = new double[0];
+
+	protected MoteStoreMotion(final double gravity) {
+		this.gravity = gravity;
+	}
+
+	@Override
+	protected void resize(final int newCapacity) {
+		super.resize(newCapacity);
+		this.motionX = Arrays.copyOf(this.motionX, newCapacity);
+		this.motionY = Arrays.copyOf(this.motionY, newCapacity);
+		this.motionZ = Arrays.copyOf(this.motionZ, newCapacity);
+		this.prevX = Arrays.copyOf(this.prevX, newCapacity);
+		this.prevY = Arrays.copyOf(this.prevY, newCapacity);
+		this.prevZ = Arrays.copyOf(this.prevZ, newCapacity);
+	}
+
+	@Override
+	protected void move(final int from, final int to) {
+		super.move(from, to);
+		this.motionX[to] = this.motionX[from];
+		this.motionY[to] = this.motionY[from];
+		this.motionZ[to] = this.motionZ[from];
+		this.prevX[to] = this.prevX[from];
+		this.prevY[to] = this.prevY[from];
+		this.prevZ[to] = this.prevZ[from];
+	}
+
+	protected int allocate(final double x, final double y, final double z, final double dX, final double dY,
+			final double dZ) {
+		final int i = allocate(x, y, z);
+		if (i >= 0) {
+			this.prevX[i] = x;
+			this.prevY[i] = y;
+			this.prevZ[i] = z;
+			this.motionX[i] = dX;
+			this.motionY[i] = dY;
+			this.motionZ[i] = dZ;
+		}
+		return i;
+	}
+
+	/**
+	 * Called when a mote moves into a solid block. Returns false if the mote
+	 * dies from the collision.
+	 */
+	protected boolean handleCollision(final int i) {
+		return false;
+	}
+
+	@Override
+	protected boolean update(@Nonnull final IMoteWorld world, final int i) {
+
+		this.prevX[i] = this.posX[i];
+		this.prevY[i] = this.posY[i];
+		this.prevZ[i] = this.posZ[i];
+		this.motionY[i] -= this.gravity;
+
+		this.posX[i] += this.motionX[i];
+		this.posY[i] += this.motionY[i];
+		this.posZ[i] += this.motionZ[i];
+
+		this.blockX[i] = MathStuff.floor(this.posX[i]);
+		this.blockY[i] = MathStuff.floor(this.posY[i]);
+		this.blockZ[i] = MathStuff.floor(this.posZ[i]);
+
+		if (world.isSolid(this.blockX[i], this.blockY[i], this.blockZ[i]))
+			return handleCollision(i);
+
+		this.motionX[i] *= 0.9800000190734863D;
+		this.motionY[i] *= 0.9800000190734863D;
+		this.motionZ[i] *= 0.9800000190734863D;
+		return true;
+	}
+
+	@Override
+	protected float renderX(final int i) {
+		return (float) (this.prevX[i] + (this.posX[i] - this.prevX[i]) * this.partialTicks - this.viewX);
+	}
+
+	@Override
+	protected float renderY(final int i) {
+		return (float) (this.prevY[i] + (this.posY[i] - this.prevY[i]) * this.partialTicks - this.viewY);
+	}
+
+	@Override
+	protected float renderZ(final int i) {
+		return (float) (this.prevZ[i] + (this.posZ[i] - this.prevZ[i]) * this.partialTicks - this.viewZ);
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Rain ripples that spread across the surface of water.
+ */
+@SideOnly(Side.CLIENT)
+public class MoteStoreRipple extends MoteStore {
+
+	private static final float TEX_SIZE_HALF = 0.5F;
+
+	protected float[] growthRate = new float[0];
+	protected float[] scale = new float[0];
+
+	@Override
+	protected void resize(final int newCapacity) {
+		super.resize(newCapacity);
+		this.growthRate = Arrays.copyOf(this.growthRate, newCapacity);
+		this.scale = Arrays.copyOf(this.scale, newCapacity);
+	}
+
+	@Override
+	protected void move(final int from, final int to) {
+		super.move(from, to);
+		this.growthRate[to] = this.growthRate[from];
+		this.scale[to] = this.scale[from];
+	}
+
+	@Nullable
+	public IParticleMote addRipple(final double x, final double y, final double z, final float red,
+			final float green, final float blue) {
+		final int i = allocate(x, y, z);
+		if (i < 0)
+			return null;
+
+		this.maxAge[i] = 12 + RANDOM.nextInt(8);
+		this.growthRate[i] = this.maxAge[i] / 500F;
+		this.scale[i] = this.growthRate[i];
+		// Light is still taken from the block the ripple was spawned in
+		this.posY[i] -= 0.2D;
+
+		this.red[i] = red;
+		this.green[i] = green;
+		this.blue[i] = blue;
+
+		return handle(i);
+	}
+
+	@Override
+	protected boolean update(@Nonnull final IMoteWorld world, final int i) {
+		this.scale[i] += this.growthRate[i];
+		this.alpha[i] = (float) (this.maxAge[i] - this.age[i]) / (float) (this.maxAge[i] + 3);
+		return true;
+	}
+
+	@Override
+	protected void render(@Nonnull final BufferBuilder buffer, final int i) {
+		final float x = renderX(i);
+		final float y = renderY(i);
+		final float z = renderZ(i);
+		final float scaledWidth = this.scale[i] * TEX_SIZE_HALF;
+
+		drawVertex(buffer, i, -scaledWidth + x, y, scaledWidth + z, 0, 1);
+		drawVertex(buffer, i, scaledWidth + x, y, scaledWidth + z, 1, 1);
+		drawVertex(buffer, i, scaledWidth + x, y, -scaledWidth + z, 1, 0);
+		drawVertex(buffer, i, -scaledWidth + x, y, -scaledWidth + z, 0, 0);
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.lib.math.MathStuff;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Water spray and rain splash droplets.
+ */
+@SideOnly(Side.CLIENT)
+public class MoteStoreSpray extends MoteStoreMotion {
+
+	protected float[] texU1 = new float[0];
+	protected float[] texV1 = new float[0];
+	protected float[] f4 = new float[0];
+
+	public MoteStoreSpray() {
+		super(0.06D);
+	}
+
+	@Override
+	protected void resize(final int newCapacity) {
+		super.resize(newCapacity);
+		this.texU1 = Arrays.copyOf(this.texU1, newCapacity);
+		this.texV1 = Arrays.copyOf(this.texV1, newCapacity);
+		this.f4 = Arrays.copyOf(this.f4, newCapacity);
+	}
+
+	@Override
+	protected void move(final int from, final int to) {
+		super.move(from, to);
+		this.texU1[to] = this.texU1[from];
+		this.texV1[to] = this.texV1[from];
+		this.f4[to] = this.f4[from];
+	}
+
+	@Nullable
+	public IParticleMote addSpray(final double x, final double y, final double z, final double dX, final double dY,
+			final double dZ, final float red, final float green, final float blue) {
+		final int i = allocate(x, y, z, dX, dY, dZ);
+		if (i < 0)
+			return null;
+
+		this.red[i] = red;
+		this.green[i] = green;
+		this.blue[i] = blue;
+		this.maxAge[i] = (int) (8.0F / (RANDOM.nextFloat() * 0.8F + 0.2F));
+		final float scale = (RANDOM.nextFloat() * 0.5F + 0.5F) * 2.0F;
+
+		final int textureIdx = RANDOM.nextInt(4);
+		this.texU1[i] = (textureIdx % 2) * 0.5F;
+		this.texV1[i] = (textureIdx / 2) * 0.5F;
+
+		// Tweak the constant to change the size of the raindrop
+		this.f4[i] = 0.07F * scale;
+
+		return handle(i);
+	}
+
+	@Nullable
+	public IParticleMote addRainSplash(final double x, final double y, final double z) {
+		double motionX = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		double motionY = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		double motionZ = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		final float f = (float) (RANDOM.nextDouble() + RANDOM.nextDouble() + 1.0D) * 0.15F;
+		final float f1 = (float) MathStuff.sqrt(motionX * motionX + motionY * motionY + motionZ * motionZ);
+		motionX = motionX / f1 * f * 0.4000000059604645D;
+		motionZ = motionZ / f1 * f * 0.4000000059604645D;
+
+		motionX *= 0.30000001192092896D;
+		motionY = RANDOM.nextDouble() * 0.20000000298023224D + 0.10000000149011612D;
+		motionZ *= 0.30000001192092896D;
+
+		return addSpray(x, y, z, motionX, motionY, motionZ, 1F, 1F, 1F);
+	}
+
+	@Override
+	protected void render(@Nonnull final BufferBuilder buffer, final int i) {
+		final float x = renderX(i);
+		final float y = renderY(i);
+		final float z = renderZ(i);
+
+		final float f4 = this.f4[i];
+		final float texU1 = this.texU1[i];
+		final float texU2 = texU1 + 0.5F;
+		final float texV1 = this.texV1[i];
+		final float texV2 = texV1 + 0.5F;
+
+		drawVertex(buffer, i, x + (-this.rotX * f4 - this.rotXY * f4), y + (-this.rotZ * f4),
+				z + (-this.rotYZ * f4 - this.rotXZ * f4), texU2, texV2);
+		drawVertex(buffer, i, x + (-this.rotX * f4 + this.rotXY * f4), y + (this.rotZ * f4),
+				z + (-this.rotYZ * f4 + this.rotXZ * f4), texU2, texV1);
+		drawVertex(buffer, i, x + (this.rotX * f4 + this.rotXY * f4), y + (this.rotZ * f4),
+				z + (this.rotYZ * f4 + this.rotXZ * f4), texU1, texV1);
+		drawVertex(buffer, i, x + (this.rotX * f4 - this.rotXY * f4), y + (-this.rotZ * f4),
+				z + (this.rotYZ * f4 - this.rotXZ * f4), texU1, texV2);
+	}
+
+}
@@ -24,36 +24,54 @@
 
 package org.orecruncher.dsurround.client.fx.particle.mote;
 
-import net.minecraft.util.math.MathHelper;
-import net.minecraft.world.World;
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.client.weather.Weather;
+import org.orecruncher.lib.chunk.ClientChunkCache;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * Answers mote store queries from the client chunk cache.
+ */
 @SideOnly(Side.CLIENT)
-public class MoteRainSplash extends MoteWaterSpray {
-
-	public MoteRainSplash(final World world, final double x, final double y, final double z) {
-		super(world, x, y, z, 0, 0, 0);
-
-		// Setup motion
-		this.motionX = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
-		this.motionY = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
-		this.motionZ = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
-		final float f = (float) (RANDOM.nextDouble() + RANDOM.nextDouble() + 1.0D) * 0.15F;
-		final float f1 = MathHelper
-				.sqrt(this.motionX * this.motionX + this.motionY * this.motionY + this.motionZ * this.motionZ);
-		this.motionX = this.motionX / f1 * f * 0.4000000059604645D;
-		this.motionY = this.motionY / f1 * f * 0.4000000059604645D + 0.10000000149011612D;
-		this.motionZ = this.motionZ / f1 * f * 0.4000000059604645D;
-
-		this.motionX *= 0.30000001192092896D;
-		this.motionY = RANDOM.nextDouble() * 0.20000000298023224D + 0.10000000149011612D;
-		this.motionZ *= 0.30000001192092896D;
+public final class MoteWorld implements IMoteWorld {
+
+	public static final MoteWorld INSTANCE = new MoteWorld();
+
+	private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+	private MoteWorld() {
+
+	}
+
+	@Nonnull
+	private IBlockState getBlockState(final int x, final int y, final int z) {
+		return ClientChunkCache.instance().getBlockState(this.pos.setPos(x, y, z));
+	}
+
+	@Override
+	public int getCombinedLight(final int x, final int y, final int z) {
+		return ClientChunkCache.instance().getCombinedLight(this.pos.setPos(x, y, z), 0);
+	}
+
+	@Override
+	public boolean isSolid(final int x, final int y, final int z) {
+		return getBlockState(x, y, z).getMaterial().isSolid();
+	}
+
+	@Override
+	public boolean isSnowLayer(final int x, final int y, final int z) {
+		return getBlockState(x, y, z).getBlock() == Blocks.SNOW_LAYER;
 	}
 
 	@Override
-	public void configureColor() {
-		this.red = this.green = this.blue = this.alpha = 1F;
+	public float getRainIntensity() {
+		return Weather.isRaining() ? Weather.getIntensityLevel() : 0F;
 	}
 
 }
@@ -24,20 +24,19 @@
 
 package org.orecruncher.dsurround.client.fx.particle.mote;
 
-import java.util.function.Predicate;
-
 import javax.annotation.Nonnull;
 
 import org.lwjgl.opengl.GL11;
 import org.orecruncher.dsurround.client.fx.particle.ParticleBase;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.dsurround.lib.compat.ModEnvironment;
-import org.orecruncher.lib.collections.ObjectArray;
 import org.orecruncher.lib.gfx.OpenGlState;
 
+import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.BufferBuilder;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.entity.RenderManager;
 import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraft.client.renderer.vertex.VertexFormat;
 import net.minecraft.entity.Entity;
@@ -46,54 +45,42 @@ import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * Particle that updates and renders a store of motes as a single batch.
+ */
 @SideOnly(Side.CLIENT)
-public class ParticleCollection extends ParticleBase {
-
-	/**
-	 * Predicate used to update a mote and return whether it is dead or not.
-	 */
-	private static final Predicate<IParticleMote> UPDATE_REMOVE = mote -> {
-		mote.onUpdate();
-		return !mote.isAlive();
-	};
+public class ParticleCollection<T extends MoteStore> extends ParticleBase {
 
-	protected static final int MAX_PARTICLES = 4000;
-	protected static final int ALLOCATION_SIZE = 128;
 	protected static final int TICK_GRACE = 2;
 
-	protected final ObjectArray<IParticleMote> myParticles = new ObjectArray<>(ALLOCATION_SIZE);
+	protected static final RenderManager RENDERER = Minecraft.getMinecraft().getRenderManager();
+
+	protected final T motes;
 	protected final ResourceLocation texture;
 
 	protected int lastTickUpdate;
 	protected OpenGlState glState;
 
-	public ParticleCollection(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
+	public ParticleCollection(@Nonnull final World world, @Nonnull final ResourceLocation tex, @Nonnull final T motes) {
 		super(world, 0, 0, 0);
 
 		this.canCollide = false;
 		this.texture = tex;
+		this.motes = motes;
 		this.lastTickUpdate = EnvironState.getTickCounter();
 	}
 
 	public boolean canFit() {
-		return this.myParticles.size() < MAX_PARTICLES;
+		return this.motes.canFit();
 	}
 
-	public boolean addParticle(@Nonnull final IParticleMote mote) {
-
-		if (canFit()) {
-			this.myParticles.add(mote);
-			return true;
-		}
-		return false;
-	}
-
-	public ObjectArray<IParticleMote> getParticles() {
-		return this.myParticles;
+	@Nonnull
+	public T getMotes() {
+		return this.motes;
 	}
 
 	public int size() {
-		return this.myParticles.size();
+		return this.motes.size();
 	}
 
 	public boolean shouldDie() {
@@ -101,6 +88,12 @@ public class ParticleCollection extends ParticleBase {
 		return timeout || size() == 0 || this.world != EnvironState.getWorld();
 	}
 
+	@Override
+	public void setExpired() {
+		super.setExpired();
+		this.motes.clear();
+	}
+
 	@Override
 	public void onUpdate() {
 		if (!isAlive())
@@ -109,7 +102,7 @@ public class ParticleCollection extends ParticleBase {
 		this.lastTickUpdate = EnvironState.getTickCounter();
 
 		// Update state and remove the dead ones
-		this.myParticles.removeIf(UPDATE_REMOVE);
+		this.motes.update(MoteWorld.INSTANCE);
 
 		if (shouldDie()) {
 			setExpired();
@@ -125,15 +118,15 @@ public class ParticleCollection extends ParticleBase {
 	public void renderParticle(final BufferBuilder buffer, final Entity entityIn, final float partialTicks,
 			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
 
-		if (this.myParticles.size() == 0)
+		if (this.motes.size() == 0)
 			return;
 
 		bindTexture(this.texture);
 		preRender();
 
 		buffer.begin(GL11.GL_QUADS, getVertexFormat());
-		for (int i = 0; i < this.myParticles.size(); i++)
-			this.myParticles.get(i).renderParticle(buffer, entityIn, partialTicks, rotX, rotZ, rotYZ, rotXY, rotXZ);
+		this.motes.render(buffer, partialTicks, rotX, rotZ, rotYZ, rotXY, rotXZ, RENDERER.viewerPosX,
+				RENDERER.viewerPosY, RENDERER.viewerPosZ);
 		Tessellator.getInstance().draw();
 
 		postRender();
@@ -165,12 +158,12 @@ public class ParticleCollection extends ParticleBase {
 	 * Factory interface for creating particle collection instances. Used by the
 	 * ParticleCollections manager.
 	 */
-	public static interface ICollectionFactory {
-		ParticleCollection create(@Nonnull final World world, @Nonnull final ResourceLocation texture);
+	public static interface ICollectionFactory<T extends ParticleCollection<?>> {
+		T create(@Nonnull final World world, @Nonnull final ResourceLocation texture);
 	}
 
-	public static final ICollectionFactory FACTORY = (world, texture) -> {
-		return new ParticleCollection(world, texture);
+	public static final ICollectionFactory<ParticleCollection<MoteStoreSpray>> SPRAY_FACTORY = (world, texture) -> {
+		return new ParticleCollection<>(world, texture, new MoteStoreSpray());
 	};
 
 }
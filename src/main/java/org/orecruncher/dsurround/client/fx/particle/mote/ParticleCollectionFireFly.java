@@ -35,10 +35,10 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
-public class ParticleCollectionFireFly extends ParticleCollection {
+public class ParticleCollectionFireFly extends ParticleCollection<MoteStoreFireFly> {
 
 	public ParticleCollectionFireFly(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
-		super(world, tex);
+		super(world, tex, new MoteStoreFireFly());
 	}
 
 	@Override
@@ -48,7 +48,7 @@ public class ParticleCollectionFireFly extends ParticleCollection {
 		OpenGlUtil.setStandardBlend();
 	}
 
-	public static final ICollectionFactory FACTORY = (world, texture) -> {
+	public static final ICollectionFactory<ParticleCollectionFireFly> FACTORY = (world, texture) -> {
 		return new ParticleCollectionFireFly(world, texture);
 	};
 
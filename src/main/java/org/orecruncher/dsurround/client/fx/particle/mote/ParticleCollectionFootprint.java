@@ -35,10 +35,10 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
-public class ParticleCollectionFootprint extends ParticleCollection {
+public class ParticleCollectionFootprint extends ParticleCollection<MoteStoreFootprint> {
 
 	public ParticleCollectionFootprint(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
-		super(world, tex);
+		super(world, tex, new MoteStoreFootprint());
 	}
 
 	@Override
@@ -53,7 +53,7 @@ public class ParticleCollectionFootprint extends ParticleCollection {
 		OpenGlUtil.setStandardBlend();
 	}
 
-	public static final ICollectionFactory FACTORY = (world, texture) -> {
+	public static final ICollectionFactory<ParticleCollectionFootprint> FACTORY = (world, texture) -> {
 		return new ParticleCollectionFootprint(world, texture);
 	};
 
@@ -37,7 +37,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
-public class ParticleCollectionRipples extends ParticleCollection {
+public class ParticleCollectionRipples extends ParticleCollection<MoteStoreRipple> {
 
 	public static enum Style {
 
@@ -70,7 +70,7 @@ public class ParticleCollectionRipples extends ParticleCollection {
 	}
 
 	public ParticleCollectionRipples(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
-		super(world, tex);
+		super(world, tex, new MoteStoreRipple());
 	}
 
 	@Override
@@ -87,7 +87,7 @@ public class ParticleCollectionRipples extends ParticleCollection {
 		GlStateManager.depthMask(false);
 	}
 
-	public static final ICollectionFactory FACTORY = (world, texture) -> {
+	public static final ICollectionFactory<ParticleCollectionRipples> FACTORY = (world, texture) -> {
 		return new ParticleCollectionRipples(world, texture);
 	};
 
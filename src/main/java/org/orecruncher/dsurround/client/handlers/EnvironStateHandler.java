@@ -57,6 +57,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
@@ -420,6 +421,12 @@ public class EnvironStateHandler extends EffectHandlerBase {
 		EnvironState.reset();
 	}
 
+	@SubscribeEvent
+	public void onEntityJoin(@Nonnull final EntityJoinWorldEvent event) {
+		if (event.getWorld().isRemote)
+			EnvironState.getBattleScanner().onEntityJoin(event.getEntity());
+	}
+
 	// Use the new scripting system to pull out data to display
 	// for debug. Good for testing.
 	private final static String[] scripts = { "'Dim: ' + player.dimension + '/' + player.dimensionName",
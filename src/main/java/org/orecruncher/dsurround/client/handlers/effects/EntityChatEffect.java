@@ -45,6 +45,7 @@ import org.orecruncher.dsurround.client.effects.EntityEffect;
 import org.orecruncher.dsurround.client.effects.IEntityEffectFactory;
 import org.orecruncher.dsurround.client.effects.IEntityEffectFactoryFilter;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.lib.random.AliasTable;
 import org.orecruncher.dsurround.registry.effect.EntityEffectInfo;
 import org.orecruncher.lib.Translations;
 import org.orecruncher.lib.WeightTable;
@@ -79,6 +80,7 @@ public class EntityChatEffect extends EntityEffect {
 	static {
 		xlate.load("/assets/dsurround/dsurround/data/chat/");
 		xlate.forAll(new WeightTableBuilder());
+		messages.values().forEach(EntityChatData::build);
 		xlate.transform(new Stripper());
 
 		setTimers(EntitySquid.class, 600, EntityChatData.DEFAULT_RANDOM);
@@ -110,7 +112,12 @@ public class EntityChatEffect extends EntityEffect {
 		public int baseInterval = DEFAULT_INTERVAL;
 		public int baseRandom = DEFAULT_RANDOM;
 
-		public final WeightTable<String> table = new WeightTable<>();
+		public final ObjectArray<WeightTable.IItem<String>> entries = new ObjectArray<>();
+		public AliasTable<String> table;
+
+		public void build() {
+			this.table = new AliasTable<>(this.entries);
+		}
 	}
 
 	private static class WeightTableBuilder implements Predicate<Entry<String, String>> {
@@ -133,7 +140,7 @@ public class EntityChatEffect extends EntityEffect {
 						messages.put(key, data = new EntityChatData());
 					final int weight = Integer.parseInt(matcher2.group(1));
 					final String item = matcher2.group(2);
-					data.table.add(new WeightTable.IItem<String>() {
+					data.entries.add(new WeightTable.IItem<String>() {
 						@Override
 						public int getWeight() {
 							return weight;
@@ -225,7 +232,7 @@ public class EntityChatEffect extends EntityEffect {
 	}
 
 	protected String getChatMessage(@Nonnull final Entity entity) {
-		return xlate.loadString(getSpeechFormatted(entity, this.data.table.next()));
+		return xlate.loadString(getSpeechFormatted(entity, this.data.table.next(this.random)));
 	}
 
 	protected int getNextChatTime() {
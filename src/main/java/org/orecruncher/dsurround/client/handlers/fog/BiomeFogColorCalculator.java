@@ -27,18 +27,16 @@ import javax.annotation.Nonnull;
 
 import org.orecruncher.dsurround.client.ClientRegistry;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.client.handlers.scanners.BiomeColumnGrid;
 import org.orecruncher.dsurround.client.weather.Weather;
 import org.orecruncher.dsurround.registry.biome.BiomeInfo;
 import org.orecruncher.lib.Color;
-import org.orecruncher.lib.chunk.ClientChunkCache;
-import org.orecruncher.lib.chunk.IBlockAccessEx;
 import org.orecruncher.lib.math.MathStuff;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.settings.GameSettings;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.init.MobEffects;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.client.event.EntityViewRenderEvent;
 import net.minecraftforge.common.ForgeModContainer;
@@ -63,7 +61,6 @@ public class BiomeFogColorCalculator extends VanillaFogColorCalculator {
 
 		final EntityLivingBase player = EnvironState.getPlayer();
 		final World world = EnvironState.getWorld();
-		final IBlockAccessEx provider = ClientChunkCache.instance();
 		final int playerX = MathStuff.floor(player.posX);
 		final int playerZ = MathStuff.floor(player.posZ);
 
@@ -75,7 +72,6 @@ public class BiomeFogColorCalculator extends VanillaFogColorCalculator {
 			distance = ranges[MathStuff.clamp(settings.renderDistanceChunks, 0, ranges.length - 1)];
 		}
 
-		final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos(0, 0, 0);
 		this.doScan |= this.posX != playerX || this.posZ != playerZ;
 
 		if (this.doScan) {
@@ -87,12 +83,15 @@ public class BiomeFogColorCalculator extends VanillaFogColorCalculator {
 
 			for (int x = -distance; x <= distance; ++x) {
 				for (int z = -distance; z <= distance; ++z) {
-					pos.setPos(playerX + x, 0, playerZ + z);
+					final int cX = playerX + x;
+					final int cZ = playerZ + z;
+
+					final BiomeInfo biome = ClientRegistry.BIOME.get(BiomeColumnGrid.getBiome(world, cX, cZ));
 
 					// If the chunk is not available doScan will be set true. This will force
 					// another scan on the next tick.
-					this.doScan = this.doScan | !provider.isAvailable(pos);
-					final BiomeInfo biome = ClientRegistry.BIOME.get(provider.getBiome(pos));
+					this.doScan = this.doScan | !BiomeColumnGrid.isAvailable(cX, cZ);
+
 					final Color color;
 
 					// Fetch the color we are dealing with.
@@ -27,14 +27,13 @@ import javax.annotation.Nonnull;
 
 import org.orecruncher.dsurround.client.ClientRegistry;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.client.handlers.scanners.BiomeColumnGrid;
 import org.orecruncher.dsurround.client.weather.Weather;
 import org.orecruncher.dsurround.registry.biome.BiomeInfo;
-import org.orecruncher.lib.chunk.ClientChunkCache;
-import org.orecruncher.lib.chunk.IBlockAccessEx;
 import org.orecruncher.lib.math.MathStuff;
 
 import net.minecraft.entity.EntityLivingBase;
-import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
 import net.minecraftforge.client.event.EntityViewRenderEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -74,7 +73,7 @@ public class BiomeFogRangeCalculator extends VanillaFogRangeCalculator {
 	public FogResult calculate(@Nonnull final EntityViewRenderEvent.RenderFogEvent event) {
 
 		final EntityLivingBase player = EnvironState.getPlayer();
-		final IBlockAccessEx provider = ClientChunkCache.instance();
+		final World world = EnvironState.getWorld();
 		final int playerX = MathStuff.floor(player.posX);
 		final int playerZ = MathStuff.floor(player.posZ);
 		final float rainStr = Weather.getIntensityLevel();
@@ -84,8 +83,6 @@ public class BiomeFogRangeCalculator extends VanillaFogRangeCalculator {
 		if (ctx.returnCached(playerX, playerZ, rainStr, event))
 			return ctx.cached;
 
-		final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos(0, 0, 0);
-
 		float fpDistanceBiomeFog = 0F;
 		float weightBiomeFog = 0;
 
@@ -95,12 +92,14 @@ public class BiomeFogRangeCalculator extends VanillaFogRangeCalculator {
 
 		for (int x = -DISTANCE; x <= DISTANCE; ++x) {
 			for (int z = -DISTANCE; z <= DISTANCE; ++z) {
-				pos.setPos(playerX + x, 0, playerZ + z);
+				final int cX = playerX + x;
+				final int cZ = playerZ + z;
+
+				final BiomeInfo biome = ClientRegistry.BIOME.get(BiomeColumnGrid.getBiome(world, cX, cZ));
 
 				// If the chunk is not available doScan will be set true. This will force
 				// another scan on the next tick.
-				ctx.doScan = ctx.doScan | !provider.isAvailable(pos);
-				final BiomeInfo biome = ClientRegistry.BIOME.get(provider.getBiome(pos));
+				ctx.doScan = ctx.doScan | !BiomeColumnGrid.isAvailable(cX, cZ);
 
 				float distancePart = 1F;
 				final float weightPart = 1;
@@ -24,10 +24,17 @@
 
 package org.orecruncher.dsurround.client.handlers.scanners;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
 import org.orecruncher.dsurround.capabilities.CapabilityEntityData;
 import org.orecruncher.dsurround.capabilities.entitydata.IEntityData;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.boss.EntityDragon;
@@ -37,6 +44,7 @@ import net.minecraft.entity.monster.EntityPolarBear;
 import net.minecraft.entity.monster.IMob;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.ITickable;
+import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
@@ -47,6 +55,11 @@ import net.minecraftforge.fml.relauncher.SideOnly;
  * a battle is taking place.  This does not mean the player is
  * being attacked - only that there are entities that are
  * fighting nearby.
+ *
+ * Boss entities are tracked in a small set fed by entity join
+ * events.  Regular mobs are queried through the world's per chunk
+ * section entity lists so only the sections within mob range are
+ * visited rather than every loaded entity.
  */
 @SideOnly(Side.CLIENT)
 public class BattleScanner implements ITickable {
@@ -54,6 +67,7 @@ public class BattleScanner implements ITickable {
 	private static final int BOSS_RANGE = 65536; // 256 block range
 	private static final int MINI_BOSS_RANGE = 16384; // 128 block range
 	private static final int MOB_RANGE = 400; // 20 block range
+	private static final int MOB_SEARCH_RADIUS = 21; // 20 blocks plus slack for distance to center
 	private static final int BATTLE_TIMER_EXPIRY = 10;
 
 	protected int battleTimer;
@@ -62,6 +76,9 @@ public class BattleScanner implements ITickable {
 	protected boolean isDragon;
 	protected boolean isBoss;
 
+	protected final Set<Entity> bosses = new ReferenceOpenHashSet<>();
+	protected World trackedWorld;
+
 	public void reset() {
 		this.inBattle = false;
 		this.isWither = false;
@@ -85,6 +102,15 @@ public class BattleScanner implements ITickable {
 		return this.isBoss;
 	}
 
+	/**
+	 * Called when an entity joins the client world. Bosses are added to the set
+	 * of entities that are checked at long range.
+	 */
+	public void onEntityJoin(@Nonnull final Entity entity) {
+		if (entity.world == this.trackedWorld && !entity.isNonBoss())
+			this.bosses.add(entity);
+	}
+
 	private boolean isApplicableType(final Entity e) {
 		if (e instanceof IMob)
 			return true;
@@ -97,6 +123,26 @@ public class BattleScanner implements ITickable {
 		return false;
 	}
 
+	private boolean isIgnored(@Nonnull final Entity e, @Nonnull final EntityPlayer player) {
+		// Invisible things do not trigger as well as the current
+		// player and team members.
+		return e.isInvisible() || e == player || e.isOnSameTeam(player);
+	}
+
+	/*
+	 * When the world changes the boss set is seeded from the loaded entities.
+	 * After that it is maintained from join events.
+	 */
+	private void trackWorld(@Nonnull final World world) {
+		if (this.trackedWorld != world) {
+			this.trackedWorld = world;
+			this.bosses.clear();
+			for (final Entity e : world.getLoadedEntityList())
+				if (!e.isNonBoss())
+					this.bosses.add(e);
+		}
+	}
+
 	@Override
 	public void update() {
 
@@ -104,47 +150,61 @@ public class BattleScanner implements ITickable {
 		final BlockPos playerPos = EnvironState.getPlayerPosition();
 		final World world = EnvironState.getWorld();
 
+		trackWorld(world);
+
 		boolean inBattle = false;
 		boolean isBoss = false;
 		boolean isDragon = false;
 		boolean isWither = false;
 
-		for (final Entity e : world.getLoadedEntityList()) {
-			// Invisible things do not trigger as well as the current
-			// player and team members.
-			if (e.isInvisible() || e == player || e.isOnSameTeam(player))
+		final Iterator<Entity> itr = this.bosses.iterator();
+		while (itr.hasNext()) {
+			final Entity e = itr.next();
+			if (e.isDead || e.world != world) {
+				itr.remove();
+				continue;
+			}
+
+			if (isIgnored(e, player))
 				continue;
 
 			final double dist = e.getDistanceSq(playerPos);
 			if (dist > BOSS_RANGE)
 				continue;
 
-			if (!e.isNonBoss()) {
-				if (e instanceof EntityWither) {
-					inBattle = isWither = isBoss = true;
-					isDragon = false;
-					// Wither will override *any* other mob
-					// so terminate early.
-					break;
-				} else if (e instanceof EntityDragon) {
-					inBattle = isDragon = isBoss = true;
-				} else if (dist <= MINI_BOSS_RANGE) {
-					inBattle = isBoss = true;
-				}
-			} else if (inBattle || dist > MOB_RANGE) {
-				// If we are flagged to be in battle or if the normal
-				// mob is outside of the largest possible range it is
-				// not a candidate.
-				continue;
-			} else if (isApplicableType(e)) {
+			if (e instanceof EntityWither) {
+				inBattle = isWither = isBoss = true;
+				isDragon = false;
+				// Wither will override *any* other mob
+				// so terminate early.
+				break;
+			} else if (e instanceof EntityDragon) {
+				inBattle = isDragon = isBoss = true;
+			} else if (dist <= MINI_BOSS_RANGE) {
+				inBattle = isBoss = true;
+			}
+		}
+
+		// If we are flagged to be in battle there is no need to look
+		// at the normal mobs.
+		if (!inBattle) {
+			final AxisAlignedBB box = new AxisAlignedBB(playerPos).grow(MOB_SEARCH_RADIUS);
+			final List<EntityLiving> candidates = world.getEntitiesWithinAABB(EntityLiving.class, box);
+			for (int i = 0; i < candidates.size(); i++) {
+				final EntityLiving e = candidates.get(i);
+				if (!e.isNonBoss() || isIgnored(e, player) || !isApplicableType(e))
+					continue;
+				if (e.getDistanceSq(playerPos) > MOB_RANGE)
+					continue;
 				// Use emoji data to determine if the mob is attacking
 				final IEntityData emoji = e.getCapability(CapabilityEntityData.ENTITY_DATA, null);
 				if (emoji != null && emoji.isAttacking()) {
 					// Only in battle if the entity sees the player, or the
 					// player sees the entity
-					final EntityLiving living = (EntityLiving) e;
-					if (living.getEntitySenses().canSee(player) || player.canEntityBeSeen(living))
+					if (e.getEntitySenses().canSee(player) || player.canEntityBeSeen(e)) {
 						inBattle = true;
+						break;
+					}
 				}
 			}
 		}
@@ -0,0 +1,149 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.orecruncher.dsurround.client.handlers.scanners;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.ModBase;
+import org.orecruncher.lib.chunk.ClientChunkCache;
+import org.orecruncher.lib.chunk.IBlockAccessEx;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Grid of biome columns around the player shared by the biome scanner and the
+ * fog calculators. The grid wraps around so that as the player moves the
+ * columns that fall out of range are replaced by the ones coming into range,
+ * and a column is only looked up in the world the first time it is needed.
+ * Columns of chunks that are not yet available are not retained so they will
+ * be looked up again once the chunk arrives.
+ */
+@SideOnly(Side.CLIENT)
+@EventBusSubscriber(value = Side.CLIENT, modid = ModBase.MOD_ID)
+public final class BiomeColumnGrid {
+
+	// Must be wider than the largest area that is surveyed around the player
+	private static final int GRID_BITS = 7;
+	private static final int GRID_SIZE = 1 << GRID_BITS;
+	private static final int GRID_MASK = GRID_SIZE - 1;
+
+	private static final Biome[] biomes = new Biome[GRID_SIZE * GRID_SIZE];
+	private static final int[] columnX = new int[GRID_SIZE * GRID_SIZE];
+	private static final int[] columnZ = new int[GRID_SIZE * GRID_SIZE];
+	private static final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+	private static World world;
+
+	private BiomeColumnGrid() {
+
+	}
+
+	private static int index(final int x, final int z) {
+		return ((x & GRID_MASK) << GRID_BITS) | (z & GRID_MASK);
+	}
+
+	private static boolean isCached(final int idx, final int x, final int z) {
+		return biomes[idx] != null && columnX[idx] == x && columnZ[idx] == z;
+	}
+
+	/**
+	 * Indicates whether the chunk containing the column is available on the
+	 * client.
+	 */
+	public static boolean isAvailable(final int x, final int z) {
+		if (isCached(index(x, z), x, z))
+			return true;
+		return ClientChunkCache.instance().isAvailable(x, z);
+	}
+
+	/**
+	 * Obtains the biome for the column in the current client world.
+	 */
+	@Nonnull
+	public static Biome getBiome(@Nonnull final World current, final int x, final int z) {
+		if (world != current) {
+			clear();
+			world = current;
+		}
+
+		final int idx = index(x, z);
+		if (isCached(idx, x, z))
+			return biomes[idx];
+
+		final IBlockAccessEx provider = ClientChunkCache.instance();
+		mutable.setPos(x, 0, z);
+		final Biome biome = provider.getBiome(mutable);
+		if (provider.isAvailable(x, z)) {
+			biomes[idx] = biome;
+			columnX[idx] = x;
+			columnZ[idx] = z;
+		}
+		return biome;
+	}
+
+	public static void clear() {
+		Arrays.fill(biomes, null);
+	}
+
+	private static void invalidate(final int chunkX, final int chunkZ) {
+		final int baseX = chunkX << 4;
+		final int baseZ = chunkZ << 4;
+		for (int x = baseX; x < baseX + 16; x++)
+			for (int z = baseZ; z < baseZ + 16; z++) {
+				final int idx = index(x, z);
+				if (isCached(idx, x, z))
+					biomes[idx] = null;
+			}
+	}
+
+	@SubscribeEvent
+	public static void onChunkLoad(@Nonnull final ChunkEvent.Load event) {
+		if (event.getWorld().isRemote)
+			invalidate(event.getChunk().x, event.getChunk().z);
+	}
+
+	@SubscribeEvent
+	public static void onChunkUnload(@Nonnull final ChunkEvent.Unload event) {
+		if (event.getWorld().isRemote)
+			invalidate(event.getChunk().x, event.getChunk().z);
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			clear();
+			world = null;
+		}
+	}
+}
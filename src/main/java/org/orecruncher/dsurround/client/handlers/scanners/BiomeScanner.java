@@ -23,80 +23,166 @@
  */
 package org.orecruncher.dsurround.client.handlers.scanners;
 
+import javax.annotation.Nonnull;
+
 import org.orecruncher.dsurround.client.ClientRegistry;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.client.sound.SoundPreloader;
 import org.orecruncher.dsurround.registry.biome.BiomeInfo;
-import org.orecruncher.lib.chunk.ClientChunkCache;
-import org.orecruncher.lib.chunk.IBlockAccessEx;
 
 import it.unimi.dsi.fastutil.objects.Reference2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
 import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 /**
  * Performs an area scan around the to calculate the relative weights of the
- * biomes in the local area.
+ * biomes in the local area. The survey is a sliding window: when the player
+ * moves only the columns entering and leaving the window are sampled and the
+ * per biome counts adjusted. Columns are read from the shared BiomeColumnGrid.
  */
 @SideOnly(Side.CLIENT)
 public final class BiomeScanner implements ITickable {
 
 	private static final int BIOME_SURVEY_RANGE = 20;
-	private static final int MAX_BIOME_AREA = (int) Math.pow(BIOME_SURVEY_RANGE * 2 + 1, 2);
+	private static final int BIOME_SURVEY_SIZE = BIOME_SURVEY_RANGE * 2 + 1;
+	private static final int MAX_BIOME_AREA = BIOME_SURVEY_SIZE * BIOME_SURVEY_SIZE;
+
+	// Moves larger than this are cheaper to handle with a fresh survey
+	private static final int MAX_INCREMENTAL_MOVE = BIOME_SURVEY_RANGE;
+
+	// Number of client ticks between full surveys. Columns that were sampled
+	// while their chunk was not yet loaded and that have not left the window
+	// since get corrected this way.
+	private static final int FULL_SURVEY_INTERVAL = 100;
 
 	private int biomeArea;
 	private final Reference2FloatOpenHashMap<BiomeInfo> weights = new Reference2FloatOpenHashMap<>();
-	private final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+	// Raw biome counts for the current window. Retained between updates so
+	// that the window can be adjusted incrementally.
+	private final Reference2IntOpenHashMap<Biome> counts = new Reference2IntOpenHashMap<>();
+
+	// Biome that was counted for each column of the window. Indexed by the
+	// world X/Z coordinates modulo the window size so a column that leaves the
+	// window shares its slot with the column that replaces it. The stored value
+	// is what gets subtracted, so a column is never looked up a second time.
+	private final Biome[] window = new Biome[MAX_BIOME_AREA];
 
 	// "Finger print" of the last area survey.
 	private BiomeInfo surveyedBiome = null;
 	private int surveyedDimension = 0;
-	private BlockPos surveyedPosition = BlockPos.ORIGIN;
+	private int surveyedX;
+	private int surveyedZ;
+	private boolean countsValid;
+	private int lastFullSurvey;
 
 	@Override
 	public void update() {
 		final BlockPos position = EnvironState.getPlayerPosition();
+		final BiomeInfo playerBiome = EnvironState.getPlayerBiome();
 
-		if (this.surveyedBiome != EnvironState.getPlayerBiome()
+		final boolean fullSurvey = this.surveyedBiome != playerBiome
 				|| this.surveyedDimension != EnvironState.getDimensionId()
-				|| this.surveyedPosition.compareTo(position) != 0) {
+				|| EnvironState.getTickCounter() - this.lastFullSurvey >= FULL_SURVEY_INTERVAL;
+		final int dX = position.getX() - this.surveyedX;
+		final int dZ = position.getZ() - this.surveyedZ;
+
+		if (!fullSurvey && dX == 0 && dZ == 0)
+			return;
 
-			this.surveyedBiome = EnvironState.getPlayerBiome();
-			this.surveyedDimension = EnvironState.getDimensionId();
-			this.surveyedPosition = position;
+		this.surveyedBiome = playerBiome;
+		this.surveyedDimension = EnvironState.getDimensionId();
 
-			this.biomeArea = 0;
+		if (playerBiome.isFake()) {
+			this.countsValid = false;
+			this.biomeArea = 1;
 			this.weights.clear();
+			this.weights.put(playerBiome, 1);
+		} else {
+			final World world = EnvironState.getWorld();
 
-			if (EnvironState.getPlayerBiome().isFake()) {
-				this.biomeArea = 1;
-				this.weights.put(EnvironState.getPlayerBiome(), 1);
+			if (fullSurvey || !this.countsValid || Math.abs(dX) > MAX_INCREMENTAL_MOVE
+					|| Math.abs(dZ) > MAX_INCREMENTAL_MOVE) {
+				survey(world, position.getX(), position.getZ());
 			} else {
-				final IBlockAccessEx provider = ClientChunkCache.instance();
-
-				// Collect raw biome data before mapping to BiomeInfo - saves lookups
-				final Reference2IntOpenHashMap<Biome> scratch = new Reference2IntOpenHashMap<>();
-				scratch.defaultReturnValue(-1);
-
-				for (int dX = -BIOME_SURVEY_RANGE; dX <= BIOME_SURVEY_RANGE; dX++)
-					for (int dZ = -BIOME_SURVEY_RANGE; dZ <= BIOME_SURVEY_RANGE; dZ++) {
-						this.mutable.setPos(this.surveyedPosition.getX() + dX, 0, this.surveyedPosition.getZ() + dZ);
-						final Biome biome = provider.getBiome(this.mutable);
-						final int v = scratch.getInt(biome);
-						if (v == -1)
-							scratch.put(biome, 1);
-						else
-							scratch.put(biome, v + 1);
-					}
-
-				this.biomeArea = MAX_BIOME_AREA;
-				scratch.reference2IntEntrySet().forEach(
-						entry -> this.weights.put(ClientRegistry.BIOME.get(entry.getKey()), entry.getIntValue()));
+				slide(world, position.getX(), position.getZ());
+			}
+
+			this.biomeArea = MAX_BIOME_AREA;
+			this.weights.clear();
+			for (final Reference2IntMap.Entry<Biome> entry : this.counts.reference2IntEntrySet())
+				this.weights.put(ClientRegistry.BIOME.get(entry.getKey()), entry.getIntValue());
+		}
+
+		this.surveyedX = position.getX();
+		this.surveyedZ = position.getZ();
+
+		// Get the sounds of any newly sighted biomes loading in the
+		// background before they are needed.
+		this.weights.keySet().forEach(SoundPreloader::preload);
+	}
+
+	private void survey(@Nonnull final World world, final int x, final int z) {
+		this.counts.clear();
+		this.countsValid = true;
+		this.lastFullSurvey = EnvironState.getTickCounter();
+		for (int dX = -BIOME_SURVEY_RANGE; dX <= BIOME_SURVEY_RANGE; dX++)
+			for (int dZ = -BIOME_SURVEY_RANGE; dZ <= BIOME_SURVEY_RANGE; dZ++) {
+				final Biome biome = BiomeColumnGrid.getBiome(world, x + dX, z + dZ);
+				this.window[slot(x + dX, z + dZ)] = biome;
+				this.counts.addTo(biome, 1);
 			}
+	}
+
+	private void slide(@Nonnull final World world, final int x, final int z) {
+		// Shift along X first using the old Z range, then along Z using
+		// the new X range.
+		int oldX = this.surveyedX;
+		final int oldZ = this.surveyedZ;
+		while (oldX != x) {
+			final int step = oldX < x ? 1 : -1;
+			final int entering = oldX + step * (BIOME_SURVEY_RANGE + 1);
+			for (int dZ = -BIOME_SURVEY_RANGE; dZ <= BIOME_SURVEY_RANGE; dZ++)
+				replace(world, entering, oldZ + dZ);
+			oldX += step;
 		}
+
+		int curZ = oldZ;
+		while (curZ != z) {
+			final int step = curZ < z ? 1 : -1;
+			final int entering = curZ + step * (BIOME_SURVEY_RANGE + 1);
+			for (int dX = -BIOME_SURVEY_RANGE; dX <= BIOME_SURVEY_RANGE; dX++)
+				replace(world, x + dX, entering);
+			curZ += step;
+		}
+	}
+
+	private static int slot(final int x, final int z) {
+		return Math.floorMod(x, BIOME_SURVEY_SIZE) * BIOME_SURVEY_SIZE + Math.floorMod(z, BIOME_SURVEY_SIZE);
+	}
+
+	/**
+	 * Brings the column at the specified location into the window. The column
+	 * that is leaving sits exactly one window width away and so occupies the same
+	 * slot; its recorded biome is the one that gets removed from the counts.
+	 */
+	private void replace(@Nonnull final World world, final int x, final int z) {
+		final int slot = slot(x, z);
+		final Biome leaving = this.window[slot];
+		final Biome entering = BiomeColumnGrid.getBiome(world, x, z);
+		this.window[slot] = entering;
+		if (leaving == entering)
+			return;
+
+		if (leaving != null && this.counts.addTo(leaving, -1) <= 1)
+			this.counts.removeInt(leaving);
+		this.counts.addTo(entering, 1);
 	}
 
 	public int getBiomeArea() {
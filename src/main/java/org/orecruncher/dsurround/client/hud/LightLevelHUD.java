@@ -25,11 +25,13 @@
 package org.orecruncher.dsurround.client.hud;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.lwjgl.opengl.GL11;
 import org.orecruncher.dsurround.ModBase;
 import org.orecruncher.dsurround.ModOptions;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.event.BlockUpdateEvent;
 import org.orecruncher.dsurround.event.ReloadEvent;
 import org.orecruncher.lib.Color;
 import org.orecruncher.lib.chunk.ClientChunkCache;
@@ -39,6 +41,9 @@ import org.orecruncher.lib.gfx.OpenGlState;
 import org.orecruncher.lib.gfx.OpenGlUtil;
 import org.orecruncher.lib.math.MathStuff;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
@@ -58,8 +63,12 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec2f;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.World;
 import net.minecraft.world.WorldEntitySpawner;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
@@ -127,6 +136,19 @@ public final class LightLevelHUD extends GuiOverlay {
 		public Color color;
 	}
 
+	// Light information for a candidate position. Only depends on the world so
+	// it can be retained until the area changes. Time of day is applied when
+	// the sample is turned into a LightCoord.
+	private static final class LightSample {
+		public int x;
+		public int y;
+		public int z;
+		public float heightAdjust;
+		public int blockLight;
+		public int skyLight;
+		public boolean mobSpawn;
+	}
+
 	public static boolean showHUD = false;
 
 	private static final int ALLOCATION_SIZE = 2048;
@@ -134,6 +156,11 @@ public final class LightLevelHUD extends GuiOverlay {
 	private static final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
 	private static int nextCoord = 0;
 
+	// Maximum number of chunk sections to scan during an update
+	private static final int MAX_SECTION_SCANS = 32;
+	private static final Long2ObjectOpenHashMap<ObjectArray<LightSample>> sections = new Long2ObjectOpenHashMap<>();
+	private static World sectionWorld;
+
 	static {
 		for (int i = 0; i < ALLOCATION_SIZE; i++)
 			lightLevels.add(new LightCoord());
@@ -180,6 +207,67 @@ public final class LightLevelHUD extends GuiOverlay {
 		return state.getBlock() == Blocks.SNOW_LAYER ? adjust + 0.125F : adjust;
 	}
 
+	private static long sectionKey(final int sX, final int sY, final int sZ) {
+		return ((long) sX & 0x3FFFFFFL) << 38 | ((long) sY & 0xFFFL) << 26 | ((long) sZ & 0x3FFFFFFL);
+	}
+
+	/*
+	 * Gathers the light information for the candidate positions of a chunk
+	 * section. Returns null if the chunk is not available on the client.
+	 */
+	@Nullable
+	private static ObjectArray<LightSample> scanSection(@Nonnull final IBlockAccessEx blocks, final int sX,
+			final int sY, final int sZ) {
+		final int baseX = sX << 4;
+		final int baseY = sY << 4;
+		final int baseZ = sZ << 4;
+
+		if (!blocks.isAvailable(baseX, baseZ))
+			return null;
+
+		final ObjectArray<LightSample> result = new ObjectArray<>();
+
+		for (int dX = 0; dX < 16; dX++)
+			for (int dZ = 0; dZ < 16; dZ++) {
+
+				final int trueX = baseX + dX;
+				final int trueZ = baseZ + dZ;
+
+				IBlockState lastState = null;
+
+				for (int dY = 0; dY < 16; dY++) {
+
+					final int trueY = baseY + dY;
+
+					if (trueY < 1)
+						continue;
+
+					final IBlockState state = blocks.getBlockState(trueX, trueY, trueZ);
+
+					if (lastState == null)
+						lastState = blocks.getBlockState(trueX, trueY - 1, trueZ);
+
+					if (renderLightLevel(state, lastState)) {
+						mutable.setPos(trueX, trueY, trueZ);
+
+						final LightSample sample = new LightSample();
+						sample.x = trueX;
+						sample.y = trueY;
+						sample.z = trueZ;
+						sample.heightAdjust = heightAdjustment(state, lastState, mutable);
+						sample.mobSpawn = canMobSpawn(mutable);
+						sample.blockLight = blocks.getLightFor(EnumSkyBlock.BLOCK, mutable);
+						sample.skyLight = blocks.getLightFor(EnumSkyBlock.SKY, mutable);
+						result.add(sample);
+					}
+
+					lastState = state;
+				}
+			}
+
+		return result;
+	}
+
 	protected static void updateLightInfo(@Nonnull final RenderManager manager, final double x, final double y,
 			final double z) {
 
@@ -206,47 +294,63 @@ public final class LightLevelHUD extends GuiOverlay {
 		frustum.setPosition(fX, fY, fZ);
 		nextCoord = 0;
 
+		final World world = EnvironState.getWorld();
+		if (world != sectionWorld) {
+			sections.clear();
+			sectionWorld = world;
+		}
+
 		final ColorSet colors = ColorSet.getStyle(ModOptions.huds.lightlevel.llColors);
 		final Mode displayMode = Mode.getMode(ModOptions.huds.lightlevel.llDisplayMode);
-		final int skyLightSub = EnvironState.getWorld().calculateSkylightSubtracted(1.0F);
+		final int skyLightSub = world.calculateSkylightSubtracted(1.0F);
 		final int rangeXZ = ModOptions.huds.lightlevel.llBlockRange * 2 + 1;
 		final int rangeY = ModOptions.huds.lightlevel.llBlockRange + 1;
 		final int originX = MathStuff.floor(x) - (rangeXZ / 2);
 		final int originZ = MathStuff.floor(z) - (rangeXZ / 2);
 		final int originY = MathStuff.floor(y) - (rangeY - 3);
+		final int limitX = originX + rangeXZ;
+		final int limitY = originY + rangeY;
+		final int limitZ = originZ + rangeXZ;
 
-		final IBlockAccessEx blocks = ClientChunkCache.instance();
+		final int minSX = originX >> 4;
+		final int maxSX = (limitX - 1) >> 4;
+		final int minSY = MathStuff.clamp(originY >> 4, 0, 15);
+		final int maxSY = MathStuff.clamp((limitY - 1) >> 4, 0, 15);
+		final int minSZ = originZ >> 4;
+		final int maxSZ = (limitZ - 1) >> 4;
 
-		for (int dX = 0; dX < rangeXZ; dX++)
-			for (int dZ = 0; dZ < rangeXZ; dZ++) {
-
-				final int trueX = originX + dX;
-				final int trueZ = originZ + dZ;
-
-				if (!blocks.isAvailable(trueX, trueZ))
-					return;
-
-				IBlockState lastState = null;
-
-				for (int dY = 0; dY < rangeY; dY++) {
-
-					final int trueY = originY + dY;
-
-					if (trueY < 1 || !inFrustum(trueX, trueY, trueZ))
-						continue;
+		final IBlockAccessEx blocks = ClientChunkCache.instance();
+		int scanBudget = MAX_SECTION_SCANS;
+
+		for (int sX = minSX; sX <= maxSX; sX++)
+			for (int sZ = minSZ; sZ <= maxSZ; sZ++)
+				for (int sY = minSY; sY <= maxSY; sY++) {
+
+					final long key = sectionKey(sX, sY, sZ);
+					ObjectArray<LightSample> samples = sections.get(key);
+					if (samples == null) {
+						// Sections that don't make it in this pass will be
+						// picked up on a following update.
+						if (scanBudget == 0 || (samples = scanSection(blocks, sX, sY, sZ)) == null)
+							continue;
+						scanBudget--;
+						sections.put(key, samples);
+					}
 
-					final IBlockState state = blocks.getBlockState(trueX, trueY, trueZ);
+					for (int i = 0; i < samples.size(); i++) {
+						final LightSample sample = samples.get(i);
 
-					if (lastState == null)
-						lastState = blocks.getBlockState(trueX, trueY - 1, trueZ);
+						if (sample.x < originX || sample.x >= limitX || sample.y < originY || sample.y >= limitY
+								|| sample.z < originZ || sample.z >= limitZ)
+							continue;
 
-					if (renderLightLevel(state, lastState)) {
-						mutable.setPos(trueX, trueY, trueZ);
+						if (!inFrustum(sample.x, sample.y, sample.z))
+							continue;
 
-						final boolean mobSpawn = canMobSpawn(mutable);
+						final boolean mobSpawn = sample.mobSpawn;
 						if (mobSpawn || !ModOptions.huds.lightlevel.llHideSafe) {
-							final int blockLight = blocks.getLightFor(EnumSkyBlock.BLOCK, mutable);
-							final int skyLight = blocks.getLightFor(EnumSkyBlock.SKY, mutable) - skyLightSub;
+							final int blockLight = sample.blockLight;
+							final int skyLight = sample.skyLight - skyLightSub;
 							final int effective = Math.max(blockLight, skyLight);
 							final int result = displayMode == Mode.BLOCK_SKY ? effective : blockLight;
 
@@ -262,23 +366,68 @@ public final class LightLevelHUD extends GuiOverlay {
 
 							if (!(color == colors.safe && ModOptions.huds.lightlevel.llHideSafe)) {
 								final LightCoord coord = nextCoord();
-								coord.x = trueX;
-								coord.y = trueY + heightAdjustment(state, lastState, mutable);
-								coord.z = trueZ;
+								coord.x = sample.x;
+								coord.y = sample.y + sample.heightAdjust;
+								coord.z = sample.z;
 								coord.lightLevel = result;
 								coord.color = color;
 							}
 						}
 					}
-
-					lastState = state;
 				}
-			}
+
+		// Toss sections that have fallen out of range
+		final ObjectIterator<Long2ObjectMap.Entry<ObjectArray<LightSample>>> itr = sections.long2ObjectEntrySet()
+				.fastIterator();
+		while (itr.hasNext()) {
+			final long key = itr.next().getLongKey();
+			final int sX = (int) (key >> 38);
+			final int sZ = (int) (key << 38 >> 38);
+			if (sX < minSX - 1 || sX > maxSX + 1 || sZ < minSZ - 1 || sZ > maxSZ + 1)
+				itr.remove();
+		}
+	}
+
+	// A block change can alter sky light all the way down the column so every
+	// section below the change is dropped along with the ones around it.
+	private static void invalidate(final int sX, final int sY, final int sZ) {
+		for (int x = sX - 1; x <= sX + 1; x++)
+			for (int z = sZ - 1; z <= sZ + 1; z++)
+				for (int y = 0; y <= sY + 1; y++)
+					sections.remove(sectionKey(x, y, z));
+	}
+
+	@SubscribeEvent
+	public static void onBlockUpdate(@Nonnull final BlockUpdateEvent event) {
+		if (!sections.isEmpty())
+			invalidate(event.pos.getX() >> 4, event.pos.getY() >> 4, event.pos.getZ() >> 4);
+	}
+
+	@SubscribeEvent
+	public static void onChunkLoad(@Nonnull final ChunkEvent.Load event) {
+		if (event.getWorld().isRemote && !sections.isEmpty()) {
+			final Chunk chunk = event.getChunk();
+			invalidate(chunk.x, 15, chunk.z);
+		}
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			sections.clear();
+			sectionWorld = null;
+		}
 	}
 
 	@Override
 	public void doTick(final int tickRef) {
-		if (!showHUD || tickRef == 0 || tickRef % 3 != 0)
+		if (!showHUD) {
+			if (!sections.isEmpty())
+				sections.clear();
+			return;
+		}
+
+		if (tickRef == 0 || tickRef % 3 != 0)
 			return;
 
 		final RenderManager manager = Minecraft.getMinecraft().getRenderManager();
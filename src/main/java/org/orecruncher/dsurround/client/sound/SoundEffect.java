@@ -33,6 +33,7 @@ import org.orecruncher.dsurround.client.ClientRegistry;
 import org.orecruncher.dsurround.client.fx.ISpecialEffect;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.dsurround.client.handlers.SoundEffectHandler;
+import org.orecruncher.dsurround.expression.Condition;
 import org.orecruncher.dsurround.expression.ExpressionEngine;
 import org.orecruncher.dsurround.registry.config.SoundConfig;
 import org.orecruncher.dsurround.registry.config.SoundType;
@@ -64,7 +65,7 @@ public final class SoundEffect implements ISpecialEffect, IEntrySource<SoundEffe
 	private final String soundName;
 
 	private SoundType type;
-	private String conditions;
+	private Condition conditions;
 	private SoundCategory category;
 	private float volume;
 	private float pitch;
@@ -84,7 +85,7 @@ public final class SoundEffect implements ISpecialEffect, IEntrySource<SoundEffe
 		this.sound = ClientRegistry.SOUND.getSound(resource);
 		this.volume = volume;
 		this.pitch = pitch;
-		this.conditions = StringUtils.EMPTY;
+		this.conditions = ExpressionEngine.instance().compile(StringUtils.EMPTY);
 		this.weight = 10;
 		this.type = SoundType.SPOT;
 		this.category = category == null ? SoundCategory.BLOCKS : category;
@@ -114,7 +115,7 @@ public final class SoundEffect implements ISpecialEffect, IEntrySource<SoundEffe
 	}
 
 	protected SoundEffect setConditions(@Nonnull final String cond) {
-		this.conditions = cond;
+		this.conditions = ExpressionEngine.instance().compile(cond);
 		return this;
 	}
 
@@ -251,7 +252,7 @@ public final class SoundEffect implements ISpecialEffect, IEntrySource<SoundEffe
 	// IEntrySource<T>
 	@Override
 	public boolean matches() {
-		return ExpressionEngine.instance().check(this.conditions);
+		return this.conditions.check();
 	}
 
 	@Override
@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -46,11 +47,13 @@ import org.lwjgl.openal.ALC10;
 import org.lwjgl.openal.ALC11;
 import org.orecruncher.dsurround.ModBase;
 import org.orecruncher.dsurround.ModOptions;
+import org.orecruncher.dsurround.asm.PatchSoundManagerHandoff;
 import org.orecruncher.dsurround.client.ClientRegistry;
 import org.orecruncher.dsurround.client.sound.fix.SoundFixMethods;
 import org.orecruncher.dsurround.event.DiagnosticEvent;
 import org.orecruncher.dsurround.lib.compat.ModEnvironment;
 import org.orecruncher.dsurround.lib.sound.ITrackedSound;
+import org.orecruncher.dsurround.lib.sound.SoundCache;
 import org.orecruncher.dsurround.lib.sound.SoundState;
 import org.orecruncher.lib.ThreadGuard;
 import org.orecruncher.lib.ThreadGuard.Action;
@@ -60,6 +63,7 @@ import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.audio.ISound;
+import net.minecraft.client.audio.Sound;
 import net.minecraft.client.audio.SoundHandler;
 import net.minecraft.client.audio.SoundManager;
 import net.minecraft.client.audio.SoundRegistry;
@@ -103,6 +107,10 @@ public final class SoundEngine {
 	private static final int MAX_STREAM_CHANNELS = 16;
 	private static final int SOUND_QUEUE_SLACK = 6;
 
+	// Number of sound plays that can accumulate before the sound system command
+	// queue is processed ahead of the end of tick flush.
+	private static final int FLUSH_THRESHOLD = 16;
+
 	// Maximum number of sound channels configured in the sound system
 	private static int maxSounds = 0;
 	private static SoundEngine instance_;
@@ -131,6 +139,19 @@ public final class SoundEngine {
 
 	private String playedSoundId = null;
 
+	// Sounds played since the sound system command queue was last processed.
+	// Atomic because the play hook can fire from whatever thread called
+	// SoundManager.
+	private final AtomicInteger pendingPlays = new AtomicInteger();
+
+	// Running count of sources in the sound system. Plays and stops adjust the
+	// counts as they happen and they are corrected from the sound library once a
+	// tick. Sounds that finish on their own, vanilla ones included, are removed
+	// by SoundManager without passing through here so the correction cannot be
+	// spaced out further.
+	private final AtomicInteger normalSources = new AtomicInteger();
+	private final AtomicInteger streamingSources = new AtomicInteger();
+
 	private SoundEngine() {
 		MinecraftForge.EVENT_BUS.register(this);
 	}
@@ -177,14 +198,64 @@ public final class SoundEngine {
 	}
 
 	private boolean canFitSound() {
-		return currentSoundCount() < (maxSounds - SOUND_QUEUE_SLACK);
+		return this.normalSources.get() + this.streamingSources.get() < (maxSounds - SOUND_QUEUE_SLACK);
+	}
+
+	/**
+	 * ASM hook called after SoundManager hands a sound to the sound system. Rather
+	 * than processing the command queue for every sound the plays are batched and
+	 * flushed at the end of the tick, or sooner if enough of them pile up.
+	 */
+	public static void soundPlayed(@Nonnull final ISound sound) {
+		instance().sourceAdded(sound);
+		instance().queueFlush();
+	}
+
+	private void sourceAdded(@Nonnull final ISound sound) {
+		final Sound s = sound.getSound();
+		if (s != null && s.isStreaming())
+			this.streamingSources.incrementAndGet();
+		else
+			this.normalSources.incrementAndGet();
+	}
+
+	private void sourceRemoved(@Nonnull final ISound sound) {
+		final Sound s = sound.getSound();
+		sourceRemoved(s != null && s.isStreaming());
+	}
+
+	private void sourceRemoved(final boolean streaming) {
+		(streaming ? this.streamingSources : this.normalSources).updateAndGet(v -> v > 0 ? v - 1 : 0);
+	}
+
+	/**
+	 * Corrects the source counts from what the sound library actually has.
+	 */
+	private void reconcileSources() {
+		int normal = 0;
+		int streaming = 0;
+		try {
+			synchronized (SoundSystemConfig.THREAD_SYNC) {
+				for (final Source src : getSoundLibrary().getSources().values())
+					if (src.toStream)
+						streaming++;
+					else
+						normal++;
+			}
+		} catch (final Throwable t) {
+			;
+		}
+		this.normalSources.set(normal);
+		this.streamingSources.set(streaming);
 	}
 
-	public static void flushSound() {
-		instance().flushSoundQueue();
+	private void queueFlush() {
+		if (this.pendingPlays.incrementAndGet() >= FLUSH_THRESHOLD)
+			flushSoundQueue();
 	}
 
 	private void flushSoundQueue() {
+		this.pendingPlays.set(0);
 		getSoundSystem().CommandQueue(null);
 	}
 
@@ -223,9 +294,14 @@ public final class SoundEngine {
 	 */
 	public void stopSound(@Nonnull final ITrackedSound sound) {
 		if (sound.getState().isActive()) {
+			// Delayed sounds have not been given a source yet
+			if (sound.getState() != SoundState.DELAYED)
+				sourceRemoved(sound);
 			getSoundSystem().stop(sound.getId());
 			getDelayedSounds().remove(sound);
 			flushSoundQueue();
+			// Keep the tick scan from counting the stop a second time
+			sound.setState(SoundState.DONE);
 		}
 	}
 
@@ -236,6 +312,7 @@ public final class SoundEngine {
 		getSoundManager().stopAllSounds();
 		flushSoundQueue();
 		clearOrphans();
+		reconcileSources();
 	}
 
 	/**
@@ -265,11 +342,16 @@ public final class SoundEngine {
 		} else {
 			// Play the sound if actual music is not installed or the sound is not music
 			if (!ModEnvironment.ActualMusic.isLoaded() || sound.getCategory() != SoundCategory.MUSIC) {
-				synchronized (SoundSystemConfig.THREAD_SYNC) {
-					this.playedSoundId = null;
-					getSoundManager().playSound(sound);
-					if (this.playedSoundId != null)
-						sound.setId(this.playedSoundId);
+				// The source event sets playedSoundId for whatever sound is played on
+				// whatever thread. Unless the handoff hook was actually installed in
+				// SoundManager.playSound the sequence has to be locked so another play
+				// cannot slip in.
+				if (PatchSoundManagerHandoff.isPlaySoundHooked()) {
+					submitSound(sound);
+				} else {
+					synchronized (SoundSystemConfig.THREAD_SYNC) {
+						submitSound(sound);
+					}
 				}
 			}
 
@@ -290,6 +372,13 @@ public final class SoundEngine {
 		return sound.getId();
 	}
 
+	private void submitSound(@Nonnull final ITrackedSound sound) {
+		this.playedSoundId = null;
+		getSoundManager().playSound(sound);
+		if (this.playedSoundId != null)
+			sound.setId(this.playedSoundId);
+	}
+
 	// Wipe out any orphans. Not sure exactly how this happens but it wouldn't
 	// surprise me if there is a gap in thread processing in the sound engine.
 	private void clearOrphans() {
@@ -303,6 +392,7 @@ public final class SoundEngine {
 						ModBase.log().debug("Killing orphaned sound [%s]",
 								src.filenameURL != null ? src.filenameURL.getFilename() : "UNKNOWN");
 						SoundFixMethods.cleanupSource(src);
+						sourceRemoved(src.toStream);
 						return e.getKey();
 					}).collect(Collectors.toList());
 			remove.forEach(id -> sndSystem.removeSource(id));
@@ -319,6 +409,10 @@ public final class SoundEngine {
 	@SubscribeEvent(priority = EventPriority.LOW)
 	public void clientTick(@Nonnull TickEvent.ClientTickEvent event) {
 		if (event.side == Side.CLIENT && event.phase == Phase.END) {
+			if (this.pendingPlays.get() > 0)
+				flushSoundQueue();
+			reconcileSources();
+
 			final Map<ISound, Integer> delayedSounds = getDelayedSounds();
 			final SoundManager manager = getSoundManager();
 			// Process our queued sounds to make sure the state is appropriate. A sound can
@@ -336,6 +430,7 @@ public final class SoundEngine {
 					break;
 				case PLAYING:
 					if (!manager.isSoundPlaying(sound)) {
+						sourceRemoved(sound);
 						if (delayedSounds.containsKey(sound))
 							sound.setState(SoundState.DELAYED);
 						else
@@ -411,7 +506,10 @@ public final class SoundEngine {
 	public void diagnostics(final DiagnosticEvent.Gather event) {
 		final int soundCount = currentSoundCount();
 		final int maxCount = maxSounds;
-		event.output.add("SoundSystem: " + soundCount + "/" + maxCount);
+		event.output.add("SoundSystem: " + soundCount + "/" + maxCount + " (tracked " + this.normalSources.get()
+				+ " normal, " + this.streamingSources.get() + " streaming)");
+		if (ModOptions.asm.enableSoundCache)
+			event.output.add(SoundCache.getStatistics());
 
 		final Object2IntOpenHashMap<ResourceLocation> counts = new Object2IntOpenHashMap<>();
 		counts.defaultReturnValue(-1);
@@ -0,0 +1,187 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.sound;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.dsurround.ModBase;
+import org.orecruncher.dsurround.ModOptions;
+import org.orecruncher.dsurround.client.ClientRegistry;
+import org.orecruncher.dsurround.event.ReloadEvent;
+import org.orecruncher.dsurround.lib.sound.SoundCache;
+import org.orecruncher.dsurround.registry.biome.BiomeInfo;
+import org.orecruncher.dsurround.registry.blockstate.BlockStateProfile;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.audio.ISoundEventAccessor;
+import net.minecraft.client.audio.Sound;
+import net.minecraft.client.audio.SoundEventAccessor;
+import net.minecraft.client.audio.SoundHandler;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+import net.minecraftforge.fml.relauncher.Side;
+
+/**
+ * Warms the SoundCache for sounds that are likely to be played soon so that
+ * the resource I/O happens on a background thread rather than on the first
+ * play. Block sounds are queued when the registries reload, and biome sounds
+ * when a biome is first seen by a BiomeScanner. Resolution of sound events to
+ * their OGG resources happens on the client thread; only the cache loads are
+ * handed to the worker. A resource is only marked once the worker has run it
+ * through the cache, and a biome is dropped again if the worker stops early,
+ * so sounds skipped for lack of room are picked up later.
+ */
+@EventBusSubscriber(value = Side.CLIENT, modid = ModBase.MOD_ID)
+public final class SoundPreloader {
+
+	private static final Field accessorList = ReflectionHelper.findField(SoundEventAccessor.class, "accessorList",
+			"field_188716_a");
+
+	private static final ExecutorService worker = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+			.setNameFormat("dsurround-sound-preload").setDaemon(true).setPriority(Thread.MIN_PRIORITY).build());
+
+	// Biomes whose sounds have been handed to the worker, and the resources the
+	// worker has preloaded. Replaced on registry reload so a job still running
+	// from before cannot mark the new sets.
+	private static volatile Set<BiomeInfo> biomesSeen = ConcurrentHashMap.newKeySet();
+	private static volatile Set<ResourceLocation> preloaded = ConcurrentHashMap.newKeySet();
+
+	private SoundPreloader() {
+
+	}
+
+	private static boolean isEnabled() {
+		return ModOptions.asm.enableSoundCache && Minecraft.getMinecraft().getSoundHandler() != null;
+	}
+
+	/**
+	 * Queues the sounds of the biome for loading if the biome has not been seen
+	 * since the last registry reload. Called from the client thread.
+	 */
+	public static void preload(@Nonnull final BiomeInfo biome) {
+		// Nothing will be loaded when the cache is full so leave the biome for a
+		// later scan
+		if (!isEnabled() || !SoundCache.hasCapacity())
+			return;
+
+		final Set<BiomeInfo> seen = biomesSeen;
+		if (seen.add(biome)) {
+			final Set<ResourceLocation> resources = new ObjectLinkedOpenHashSet<>();
+			for (final SoundEffect effect : biome.getSounds())
+				resolve(effect, resources);
+			for (final SoundEffect effect : biome.getSpotSounds())
+				resolve(effect, resources);
+			submit(resources, () -> seen.remove(biome));
+		}
+	}
+
+	/**
+	 * Resource packs may have replaced the sounds held by the cache. Runs ahead
+	 * of the registry reload that follows so the preload it triggers fills the
+	 * emptied cache.
+	 */
+	@SubscribeEvent(priority = EventPriority.HIGHEST)
+	public static void onResourceReload(@Nonnull final ReloadEvent.Resources event) {
+		SoundCache.clear();
+	}
+
+	@SubscribeEvent(priority = EventPriority.LOW)
+	public static void onRegistryReload(@Nonnull final ReloadEvent.Registry event) {
+		if (event.side != Side.CLIENT)
+			return;
+
+		biomesSeen = ConcurrentHashMap.newKeySet();
+		preloaded = ConcurrentHashMap.newKeySet();
+
+		if (isEnabled()) {
+			final Set<ResourceLocation> resources = new ObjectLinkedOpenHashSet<>();
+			for (final BlockStateProfile profile : ClientRegistry.BLOCK.getProfiles())
+				for (final SoundEffect effect : profile.getSounds())
+					resolve(effect, resources);
+			submit(resources, null);
+		}
+	}
+
+	private static void resolve(@Nonnull final SoundEffect effect, @Nonnull final Set<ResourceLocation> resources) {
+		final SoundHandler handler = Minecraft.getMinecraft().getSoundHandler();
+		final SoundEventAccessor accessor = handler.getAccessor(effect.getSound().getSoundName());
+		if (accessor != null)
+			resolve(accessor, resources);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void resolve(@Nonnull final SoundEventAccessor accessor,
+			@Nonnull final Set<ResourceLocation> resources) {
+		try {
+			for (final ISoundEventAccessor<Sound> entry : (List<ISoundEventAccessor<Sound>>) accessorList
+					.get(accessor)) {
+				if (entry instanceof Sound) {
+					final ResourceLocation ogg = ((Sound) entry).getSoundAsOggLocation();
+					if (!preloaded.contains(ogg))
+						resources.add(ogg);
+				} else if (entry instanceof SoundEventAccessor) {
+					resolve((SoundEventAccessor) entry, resources);
+				}
+			}
+		} catch (@Nonnull final Throwable t) {
+			ModBase.log().debug("Unable to resolve sounds for [%s]", accessor.getLocation().toString());
+		}
+	}
+
+	private static void submit(@Nonnull final Set<ResourceLocation> resources,
+			@Nullable final Runnable onIncomplete) {
+		if (resources.isEmpty())
+			return;
+		final Set<ResourceLocation> done = preloaded;
+		worker.execute(() -> {
+			for (final ResourceLocation resource : resources) {
+				// Don't push out sounds that have actually been played in order
+				// to make room for ones that may never be.
+				if (!SoundCache.hasCapacity()) {
+					if (onIncomplete != null)
+						onIncomplete.run();
+					return;
+				}
+				SoundCache.preload(resource);
+				done.add(resource);
+			}
+		});
+	}
+
+}
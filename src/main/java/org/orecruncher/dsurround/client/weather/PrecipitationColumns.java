@@ -0,0 +1,148 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.orecruncher.dsurround.client.weather;
+
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.capabilities.CapabilitySeasonInfo;
+import org.orecruncher.dsurround.capabilities.season.ISeasonInfo;
+import org.orecruncher.dsurround.capabilities.season.PrecipitationType;
+import org.orecruncher.dsurround.client.ClientRegistry;
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.client.weather.compat.RandomThings;
+import org.orecruncher.dsurround.registry.biome.BiomeInfo;
+import org.orecruncher.lib.chunk.ClientChunkCache;
+import org.orecruncher.lib.chunk.IBlockAccessEx;
+import org.orecruncher.lib.random.XorShiftRandom;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Precipitation information for the columns around the player. None of it
+ * changes within a tick so it is gathered once per tick and shared by the
+ * storm renderer, which would otherwise work it out every frame, and the
+ * splash renderer.
+ */
+@SideOnly(Side.CLIENT)
+final class PrecipitationColumns {
+
+	// Largest column radius the storm renderer will draw
+	static final int RANGE = 10;
+	static final int SIZE = RANGE * 2 + 1;
+
+	private static final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+	private static final Random random = new XorShiftRandom();
+
+	static final int[] precipHeight = new int[SIZE * SIZE];
+	static final PrecipitationType[] type = new PrecipitationType[SIZE * SIZE];
+	static final BiomeInfo[] biome = new BiomeInfo[SIZE * SIZE];
+	static final int[] combinedLight = new int[SIZE * SIZE];
+
+	// Values from the column seeded random the storm renderer uses to
+	// animate the texture
+	static final double[] random1 = new double[SIZE * SIZE];
+	static final double[] gaussian1 = new double[SIZE * SIZE];
+	static final double[] random2 = new double[SIZE * SIZE];
+	static final double[] gaussian2 = new double[SIZE * SIZE];
+
+	static int originX;
+	static int originZ;
+	static int playerY;
+
+	private static World world;
+	private static int tick = -1;
+
+	private PrecipitationColumns() {
+
+	}
+
+	static int index(final int x, final int z) {
+		return (z - originZ) * SIZE + x - originX;
+	}
+
+	static boolean contains(final int x, final int z) {
+		return x >= originX && x < originX + SIZE && z >= originZ && z < originZ + SIZE;
+	}
+
+	/**
+	 * Gathers the column information if it has not been done for the current
+	 * tick.
+	 */
+	static void refresh(@Nonnull final World current) {
+		final int currentTick = EnvironState.getTickCounter();
+		if (world == current && tick == currentTick)
+			return;
+
+		world = current;
+		tick = currentTick;
+
+		final BlockPos playerPos = EnvironState.getPlayerPosition();
+		final int range = Minecraft.getMinecraft().gameSettings.fancyGraphics ? RANGE : RANGE / 2;
+		originX = playerPos.getX() - RANGE;
+		originZ = playerPos.getZ() - RANGE;
+		playerY = playerPos.getY();
+
+		final ISeasonInfo season = CapabilitySeasonInfo.getCapability(current);
+		final IBlockAccessEx provider = ClientChunkCache.instance();
+
+		for (int dZ = 0; dZ < SIZE; dZ++) {
+			for (int dX = 0; dX < SIZE; dX++) {
+				final int gridX = originX + dX;
+				final int gridZ = originZ + dZ;
+				final int idx = dZ * SIZE + dX;
+				mutable.setPos(gridX, 0, gridZ);
+
+				final BiomeInfo info = ClientRegistry.BIOME.get(provider.getBiome(mutable));
+				final int height = season.getPrecipitationHeight(current, mutable).getY();
+				biome[idx] = info;
+				precipHeight[idx] = height;
+
+				if (!RandomThings.shouldRain(current, mutable)) {
+					type[idx] = PrecipitationType.NONE;
+					continue;
+				}
+
+				mutable.setPos(gridX, Math.max(playerY - range, height), gridZ);
+				type[idx] = season.getPrecipitationType(current, mutable, info);
+				if (type[idx] == PrecipitationType.NONE)
+					continue;
+
+				mutable.setPos(gridX, Math.max(height, playerY), gridZ);
+				combinedLight[idx] = provider.getCombinedLight(mutable, 0);
+
+				random.setSeed(gridX * gridX * 3121 + gridX * 45238971 ^ gridZ * gridZ * 418711 + gridZ * 13761);
+				random1[idx] = random.nextDouble();
+				gaussian1[idx] = random.nextGaussian();
+				random2[idx] = random.nextDouble();
+				gaussian2[idx] = random.nextGaussian();
+			}
+		}
+	}
+}
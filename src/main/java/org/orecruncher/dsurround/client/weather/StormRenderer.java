@@ -24,22 +24,12 @@
 
 package org.orecruncher.dsurround.client.weather;
 
-import java.util.Random;
-
 import javax.annotation.Nonnull;
 
 import org.lwjgl.opengl.GL11;
 import org.orecruncher.dsurround.capabilities.CapabilityDimensionInfo;
-import org.orecruncher.dsurround.capabilities.CapabilitySeasonInfo;
-import org.orecruncher.dsurround.capabilities.season.ISeasonInfo;
 import org.orecruncher.dsurround.capabilities.season.PrecipitationType;
-import org.orecruncher.dsurround.client.ClientRegistry;
-import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
-import org.orecruncher.dsurround.client.weather.compat.RandomThings;
-import org.orecruncher.dsurround.registry.biome.BiomeInfo;
 import org.orecruncher.lib.Color;
-import org.orecruncher.lib.chunk.ClientChunkCache;
-import org.orecruncher.lib.random.XorShiftRandom;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.BufferBuilder;
@@ -50,7 +40,6 @@ import net.minecraft.client.renderer.entity.RenderManager;
 import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraft.entity.Entity;
 import net.minecraft.util.ResourceLocation;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
@@ -74,13 +63,9 @@ public class StormRenderer {
 		}
 	}
 
-	private final Random random = new XorShiftRandom();
-	private final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
-
 	private static ResourceLocation effectTexture = null;
 	private static boolean isDrawing = false;
 	private static BufferBuilder worldrenderer = null;
-	private static int locY;
 
 	private static void setupForRender(@Nonnull final ResourceLocation r) {
 		if (effectTexture != r) {
@@ -88,7 +73,6 @@ public class StormRenderer {
 				worldrenderer = Tessellator.getInstance().getBuffer();
 				final RenderManager manager = Minecraft.getMinecraft().getRenderManager();
 				worldrenderer.setTranslation(-manager.viewerPosX, -manager.viewerPosY, -manager.viewerPosZ);
-				locY = MathHelper.floor(manager.viewerPosY);
 			}
 			if (isDrawing)
 				Tessellator.getInstance().draw();
@@ -138,53 +122,42 @@ public class StormRenderer {
 				GlStateManager.DestFactor.ZERO);
 		GlStateManager.alphaFunc(516, 0.1F);
 
-		final int range = mc.gameSettings.fancyGraphics ? 10 : 5;
+		final int range = mc.gameSettings.fancyGraphics ? PrecipitationColumns.RANGE : PrecipitationColumns.RANGE / 2;
 		final float f1 = RenderWeather.rendererUpdateCount + partialTicks;
 
 		GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
 
-		final ISeasonInfo season = CapabilitySeasonInfo.getCapability(world);
 		final Weather.Properties props = Weather.getWeatherProperties();
 		final Entity entity = mc.getRenderViewEntity();
 
-		final BlockPos playerPos = EnvironState.getPlayerPosition();
-		final int playerX = playerPos.getX();
-		final int playerY = playerPos.getY();
-		final int playerZ = playerPos.getZ();
+		PrecipitationColumns.refresh(world);
+
+		final int playerX = PrecipitationColumns.originX + PrecipitationColumns.RANGE;
+		final int playerY = PrecipitationColumns.playerY;
+		final int playerZ = PrecipitationColumns.originZ + PrecipitationColumns.RANGE;
 
 		for (int gridZ = playerZ - range; gridZ <= playerZ + range; ++gridZ) {
 			for (int gridX = playerX - range; gridX <= playerX + range; ++gridX) {
-				final int idx = (gridZ - playerZ + 16) * 32 + gridX - playerX + 16;
-				final double rainX = RAIN_X_COORDS[idx];
-				final double rainY = RAIN_Y_COORDS[idx];
-				this.mutable.setPos(gridX, 0, gridZ);
-
-				if (!RandomThings.shouldRain(world, this.mutable))
+				final int column = PrecipitationColumns.index(gridX, gridZ);
+				final PrecipitationType pt = PrecipitationColumns.type[column];
+				if (pt == PrecipitationType.NONE)
 					continue;
 
-				final BiomeInfo biome = ClientRegistry.BIOME.get(ClientChunkCache.instance().getBiome(this.mutable));
-
-				final int precipHeight = season.getPrecipitationHeight(world, this.mutable).getY();
+				final int precipHeight = PrecipitationColumns.precipHeight[column];
 				final int k2 = Math.max(playerY - range, precipHeight);
 				final int l2 = Math.max(playerY + range, precipHeight);
 				if (k2 == l2)
 					continue;
 
-				this.mutable.setPos(gridX, k2, gridZ);
-
-				final PrecipitationType pt = season.getPrecipitationType(world, this.mutable, biome);
-				if (pt == PrecipitationType.NONE)
-					continue;
-
-				this.random.setSeed(gridX * gridX * 3121 + gridX * 45238971 ^ gridZ * gridZ * 418711 + gridZ * 13761);
-				final int i3 = Math.max(precipHeight, locY);
+				final int idx = (gridZ - playerZ + 16) * 32 + gridX - playerX + 16;
+				final double rainX = RAIN_X_COORDS[idx];
+				final double rainY = RAIN_Y_COORDS[idx];
 
 				final double d6 = gridX + 0.5F - entity.posX;
 				final double d7 = gridZ + 0.5F - entity.posZ;
 				final float f3 = MathHelper.sqrt(d6 * d6 + d7 * d7) / range;
-				this.mutable.setPos(gridX, i3, gridZ);
 
-				final int combinedLight = ClientChunkCache.instance().getCombinedLight(this.mutable, 0);
+				final int combinedLight = PrecipitationColumns.combinedLight[column];
 
 				if (pt == PrecipitationType.RAIN) {
 
@@ -193,7 +166,7 @@ public class StormRenderer {
 					// d8 makes the rain fall down. Assumes texture height of 512 pixels.
 					final double d5 = ((double) (RenderWeather.rendererUpdateCount + gridX * gridX * 3121
 							+ gridX * 45238971 + gridZ * gridZ * 418711 + gridZ * 13761 & 31) + (double) partialTicks)
-							/ 32.0D * (3.0D + this.random.nextDouble());
+							/ 32.0D * (3.0D + PrecipitationColumns.random1[column]);
 
 					final float alpha = ((1.0F - f3 * f3) * 0.5F + 0.5F) * alphaRatio;
 					final int slX16 = combinedLight >> 16 & 65535;
@@ -213,7 +186,7 @@ public class StormRenderer {
 					final ResourceLocation texture;
 
 					if (pt == PrecipitationType.DUST) {
-						color = biome.getDustColor();
+						color = PrecipitationColumns.biome[column].getDustColor();
 						texture = props.getDustTexture();
 					} else {
 						color = Color.WHITE;
@@ -227,12 +200,13 @@ public class StormRenderer {
 					// The 0.2F factor was originally 0.01F. It
 					// affects the horizontal movement of particles,
 					// which works well for dust.
-					final float factor = biome.getHasDust() ? 0.2F : 0.01F;
+					final float factor = PrecipitationColumns.biome[column].getHasDust() ? 0.2F : 0.01F;
 					// d9 shifts the texture left/right
-					final double d9 = this.random.nextDouble()
-							+ (double) f1 * factor * ((float) this.random.nextGaussian());
+					final double d9 = PrecipitationColumns.random1[column]
+							+ (double) f1 * factor * ((float) PrecipitationColumns.gaussian1[column]);
 					// d10 shifts the texture up/down
-					final double d10 = this.random.nextDouble() + f1 * (float) this.random.nextGaussian() * 0.001D;
+					final double d10 = PrecipitationColumns.random2[column]
+							+ f1 * (float) PrecipitationColumns.gaussian2[column] * 0.001D;
 
 					final float alpha = ((1.0F - f3 * f3) * 0.3F + 0.5F) * alphaRatio;
 					final int cl = (combinedLight * 3 + 15728880) / 4;
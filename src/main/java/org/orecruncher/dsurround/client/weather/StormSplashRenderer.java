@@ -26,6 +26,8 @@ package org.orecruncher.dsurround.client.weather;
 
 import java.util.Random;
 
+import javax.annotation.Nullable;
+
 import org.orecruncher.dsurround.ModOptions;
 import org.orecruncher.dsurround.capabilities.CapabilityDimensionInfo;
 import org.orecruncher.dsurround.capabilities.CapabilitySeasonInfo;
@@ -37,6 +39,7 @@ import org.orecruncher.dsurround.client.handlers.SoundEffectHandler;
 import org.orecruncher.dsurround.client.sound.AdhocSound;
 import org.orecruncher.dsurround.client.sound.BasicSound;
 import org.orecruncher.dsurround.client.weather.compat.RandomThings;
+import org.orecruncher.dsurround.registry.biome.BiomeInfo;
 import org.orecruncher.lib.WorldUtils;
 import org.orecruncher.lib.chunk.ClientChunkCache;
 import org.orecruncher.lib.gfx.ParticleHelper;
@@ -130,9 +133,20 @@ public class StormSplashRenderer {
 	}
 
 	protected BlockPos getPrecipitationHeight(final World world, final int range, final BlockPos pos) {
+		if (PrecipitationColumns.contains(pos.getX(), pos.getZ())) {
+			final int idx = PrecipitationColumns.index(pos.getX(), pos.getZ());
+			return new BlockPos(pos.getX(), PrecipitationColumns.precipHeight[idx], pos.getZ());
+		}
 		return CapabilitySeasonInfo.getCapability(world).getPrecipitationHeight(world, pos);
 	}
 
+	@Nullable
+	protected BiomeInfo getBiome(final int x, final int z) {
+		if (PrecipitationColumns.contains(x, z))
+			return PrecipitationColumns.biome[PrecipitationColumns.index(x, z)];
+		return null;
+	}
+
 	protected boolean biomeHasDust(final Biome biome) {
 		return ModOptions.fog.allowDesertFog && !Weather.doVanilla() && ClientRegistry.BIOME.get(biome).getHasDust();
 	}
@@ -178,6 +192,8 @@ public class StormSplashRenderer {
 		if (rainStrengthFactor <= 0.0F)
 			return;
 
+		PrecipitationColumns.refresh(world);
+
 		this.RANDOM.setSeed(RenderWeather.rendererUpdateCount * 312987231L);
 		final Entity entity = mc.getRenderViewEntity();
 		final int playerX = MathHelper.floor(entity.posX);
@@ -205,7 +221,8 @@ public class StormSplashRenderer {
 				continue;
 
 			final BlockPos precipHeight = getPrecipitationHeight(world, RANGE / 2, this.pos);
-			final PrecipitationType pt = CapabilitySeasonInfo.getCapability(world).getPrecipitationType(world, precipHeight, null);
+			final PrecipitationType pt = CapabilitySeasonInfo.getCapability(world).getPrecipitationType(world, precipHeight,
+					getBiome(locX, locZ));
 			final boolean hasDust = pt == PrecipitationType.DUST;
 
 			if ((hasDust || pt == PrecipitationType.RAIN) && precipHeight.getY() <= playerY + RANGE
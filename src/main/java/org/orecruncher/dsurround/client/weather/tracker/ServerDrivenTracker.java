@@ -34,10 +34,17 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class ServerDrivenTracker extends SimulationTracker {
 
+	// Number of ticks over which a change in intensity is blended in. The
+	// server only sends updates when something changes noticeably.
+	protected static final int INTERPOLATION_TICKS = 5;
+
 	protected int nextRainChange = 0;
 	protected float thunderStrength = 0.0F;
 	protected int nextThunderChange = 0;
 
+	protected float targetIntensityLevel = 0.0F;
+	protected float intensityStep = 0.0F;
+
 	@Override
 	protected String type() {
 		return "SERVER";
@@ -81,12 +88,37 @@ public class ServerDrivenTracker extends SimulationTracker {
 		this.thunderStrength = event.thunderStrength;
 		this.nextThunderChange = event.nextThunderChange;
 		this.nextThunderEvent = event.nextThunderEvent;
-		setCurrentIntensity(event.rainIntensity);
+
+		this.targetIntensityLevel = event.rainIntensity;
+		if (event.rainIntensity <= 0F || this.intensityLevel <= 0F) {
+			// Starting or stopping - no blending
+			this.intensityStep = 0F;
+			setCurrentIntensity(event.rainIntensity);
+		} else {
+			this.intensityStep = (event.rainIntensity - this.intensityLevel) / INTERPOLATION_TICKS;
+		}
 	}
 
 	@Override
 	public void update() {
-		// Don't want to do the simulation
+		// Don't want to do the simulation. Run the timers down between
+		// server updates and blend toward the last intensity received.
+		if (this.nextRainChange > 0)
+			this.nextRainChange--;
+		if (this.nextThunderChange > 0)
+			this.nextThunderChange--;
+		if (this.nextThunderEvent > 0)
+			this.nextThunderEvent--;
+
+		if (this.intensityStep != 0F) {
+			float level = this.intensityLevel + this.intensityStep;
+			if ((this.intensityStep > 0F && level >= this.targetIntensityLevel)
+					|| (this.intensityStep < 0F && level <= this.targetIntensityLevel)) {
+				level = this.targetIntensityLevel;
+				this.intensityStep = 0F;
+			}
+			setCurrentIntensity(level);
+		}
 	}
 
 }
@@ -23,31 +23,30 @@
 package org.orecruncher.dsurround.expression;
 
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
-import org.orecruncher.lib.expression.Dynamic;
 import org.orecruncher.lib.expression.DynamicVariantList;
 
 public class BattleVariables extends DynamicVariantList {
 
 	public BattleVariables() {
-		add(new Dynamic.DynamicBoolean("battle.inBattle") {
+		add(new Lazy.LazyBoolean("battle.inBattle") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getBattleScanner().inBattle();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("battle.isBoss") {
+		add(new Lazy.LazyBoolean("battle.isBoss") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getBattleScanner().isBoss();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("battle.isWither") {
+		add(new Lazy.LazyBoolean("battle.isWither") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getBattleScanner().isWither();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("battle.isDragon") {
+		add(new Lazy.LazyBoolean("battle.isDragon") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getBattleScanner().isDragon();
@@ -26,7 +26,6 @@ import java.util.Set;
 
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.dsurround.registry.biome.BiomeUtil;
-import org.orecruncher.lib.expression.Dynamic;
 import org.orecruncher.lib.expression.DynamicVariantList;
 
 import net.minecraftforge.common.BiomeDictionary;
@@ -37,7 +36,7 @@ public class BiomeTypeVariables extends DynamicVariantList {
 		// Scan the BiomeDictionary adding the the types
 		final Set<BiomeDictionary.Type> types = BiomeUtil.getBiomeTypes();
 		for (final BiomeDictionary.Type t : types)
-			add(new Dynamic.DynamicBoolean("biome.is" + t.getName()) {
+			add(new Lazy.LazyBoolean("biome.is" + t.getName()) {
 				@Override
 				public void update() {
 					this.value = EnvironState.getTruePlayerBiome().isBiomeType(t);
@@ -23,43 +23,42 @@
 package org.orecruncher.dsurround.expression;
 
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
-import org.orecruncher.lib.expression.Dynamic;
 import org.orecruncher.lib.expression.DynamicVariantList;
 
 public class BiomeVariables extends DynamicVariantList {
 
 	public BiomeVariables() {
-		add(new Dynamic.DynamicString("biome.name") {
+		add(new Lazy.LazyString("biome.name") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getBiomeName();
 			}
 		});
-		add(new Dynamic.DynamicString("biome.id") {
+		add(new Lazy.LazyString("biome.id") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getPlayerBiome().getKey().toString();
 			}
 		});
-		add(new Dynamic.DynamicString("biome.modid") {
+		add(new Lazy.LazyString("biome.modid") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getPlayerBiome().getKey().getNamespace();
 			}
 		});
-		add(new Dynamic.DynamicString("biome.temperature") {
+		add(new Lazy.LazyString("biome.temperature") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getBiomeTemperature().getValue();
 			}
 		});
-		add(new Dynamic.DynamicNumber("biome.rainfall") {
+		add(new Lazy.LazyNumber("biome.rainfall") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getPlayerBiome().getRainfall();
 			}
 		});
-		add(new Dynamic.DynamicNumber("biome.temperatureValue") {
+		add(new Lazy.LazyNumber("biome.temperatureValue") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getPlayerBiome().getTemperature();
@@ -1,5 +1,4 @@
-/*
- * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
  *
  * Copyright (c) OreCruncher
  *
@@ -21,29 +20,33 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
+package org.orecruncher.dsurround.expression;
 
-package org.orecruncher.dsurround.asm;
+import javax.annotation.Nonnull;
 
-import org.objectweb.asm.Opcodes;
-import org.objectweb.asm.tree.ClassNode;
-import org.objectweb.asm.tree.FieldNode;
+/**
+ * Base of the classes ExpressionCompiler generates. A generated class holds
+ * the variables its script references in typed fields and evaluates the whole
+ * script with primitive values, so no intermediate Variants are created.
+ */
+public abstract class CompiledExpression {
 
-public class BlockStateInfoHook extends Transmorgrifier {
+	protected CompiledExpression() {
 
-	public BlockStateInfoHook() {
-		super("net.minecraft.block.state.BlockStateBase");
 	}
 
-	@Override
-	public String name() {
-		return "BlockState Info Hook";
-	}
+	public abstract boolean evaluate();
 
-	@Override
-	public boolean transmorgrify(final ClassNode cn) {
+	// Conversions matching NumberValue.asString() and StringValue.asBoolean()
+	// so a compiled script gives the same answer as the interpreter.
 
-		cn.fields.add(new FieldNode(Opcodes.ACC_PUBLIC, "dsurround_blockstate_info", "Ljava/lang/Object;", null, null));
-		return true;
+	@Nonnull
+	protected static String numberToString(final float value) {
+		final int i = (int) value;
+		return i == value ? Integer.toString(i) : Float.toString(value);
 	}
 
+	protected static boolean stringToBoolean(@Nonnull final String value) {
+		return !"FALSE".equalsIgnoreCase(value);
+	}
 }
@@ -0,0 +1,90 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.orecruncher.dsurround.expression;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.lib.expression.LazyVariant;
+
+/**
+ * Handle to a compiled script condition. The handle is obtained once when
+ * the owning effect is configured and evaluated directly from then on. The
+ * dynamic variables a condition can reference only change when the engine is
+ * updated, so the result is memoized until the next update. The variables the
+ * script reads are recorded when it is compiled, and the script is only run
+ * again once one of them has changed value. When the script could be compiled
+ * to bytecode the generated class is used instead of the interpreter.
+ */
+public final class Condition {
+
+	private final ExpressionEngine engine;
+	private final String expression;
+	private final LazyVariant program;
+	private final CompiledExpression compiled;
+	// Null when the script has inputs that cannot be tracked
+	private final Lazy.ILazyVariant[] dependencies;
+
+	private int generation = -1;
+	private boolean result;
+
+	Condition(@Nonnull final ExpressionEngine engine, @Nonnull final String expression,
+			@Nonnull final LazyVariant program, @Nullable final CompiledExpression compiled,
+			@Nullable final Lazy.ILazyVariant[] dependencies) {
+		this.engine = engine;
+		this.expression = expression;
+		this.program = program;
+		this.compiled = compiled;
+		this.dependencies = dependencies;
+	}
+
+	@Nonnull
+	public String getExpression() {
+		return this.expression;
+	}
+
+	public boolean check() {
+		final int current = this.engine.getGeneration();
+		if (this.generation != current) {
+			if (this.generation == -1 || inputsChanged())
+				this.result = this.compiled != null ? this.compiled.evaluate() : this.program.eval().asBoolean();
+			this.generation = current;
+		}
+		return this.result;
+	}
+
+	private boolean inputsChanged() {
+		if (this.dependencies == null)
+			return true;
+		for (final Lazy.ILazyVariant v : this.dependencies)
+			if (v.refresh() > this.generation)
+				return true;
+		return false;
+	}
+
+	@Override
+	@Nonnull
+	public String toString() {
+		return this.expression;
+	}
+}
@@ -0,0 +1,513 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.orecruncher.dsurround.expression;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.orecruncher.dsurround.ModBase;
+import org.orecruncher.lib.expression.Expression;
+import org.orecruncher.lib.expression.Variant;
+
+/**
+ * Turns the RPN of a parsed script into a generated CompiledExpression
+ * subclass. Only the operators and the lazy variables have a direct mapping;
+ * a script using functions or any other kind of variable is not compiled and
+ * stays with the interpreter. Each operator is generated with the semantics of
+ * the matching OreLib operator, including that comparisons and "+" follow the
+ * type of their left operand.
+ */
+final class ExpressionCompiler implements Opcodes {
+
+	private static final String BASE = Type.getInternalName(CompiledExpression.class);
+	private static final String PREFIX = "org/orecruncher/dsurround/expression/compiled/Script";
+	private static final String CTOR_SIG = "([" + Type.getDescriptor(Variant.class) + ")V";
+
+	private static final Loader loader = new Loader(ExpressionCompiler.class.getClassLoader());
+	private static int scriptCount;
+
+	private ExpressionCompiler() {
+
+	}
+
+	/**
+	 * Generates a compiled form of the expression. Returns null if the script
+	 * cannot be compiled, in which case the caller keeps using the interpreter.
+	 */
+	@Nullable
+	static CompiledExpression compile(@Nonnull final Expression expression,
+			@Nonnull final Map<String, Lazy.ILazyVariant> variables) {
+		try {
+			final Generator gen = new Generator(variables);
+			final Node root = gen.parse(expression.getRPN());
+			final String name = PREFIX + (++scriptCount);
+			final Class<?> clazz = loader.define(name.replace('/', '.'), gen.generate(name, root));
+			return (CompiledExpression) clazz.getConstructor(Variant[].class)
+					.newInstance((Object) gen.fields.toArray(new Variant[0]));
+		} catch (final Throwable t) {
+			ModBase.log().debug("Script '%s' will be interpreted: %s", expression.getExpression(), t.getMessage());
+			return null;
+		}
+	}
+
+	private enum Kind {
+		BOOLEAN("asBoolean", "()Z"), NUMBER("asNumber", "()F"), STRING("asString", "()Ljava/lang/String;");
+
+		private final String method;
+		private final String sig;
+
+		private Kind(@Nonnull final String method, @Nonnull final String sig) {
+			this.method = method;
+			this.sig = sig;
+		}
+	}
+
+	private abstract static class Node {
+
+		protected final Kind kind;
+
+		Node(@Nonnull final Kind kind) {
+			this.kind = kind;
+		}
+
+		abstract void emit(@Nonnull final Generator gen);
+	}
+
+	private static class Literal extends Node {
+
+		private final Object value;
+
+		Literal(@Nonnull final Kind kind, @Nonnull final Object value) {
+			super(kind);
+			this.value = value;
+		}
+
+		@Override
+		void emit(@Nonnull final Generator gen) {
+			if (this.kind == Kind.BOOLEAN)
+				gen.mv.visitInsn(((Boolean) this.value).booleanValue() ? ICONST_1 : ICONST_0);
+			else
+				gen.mv.visitLdcInsn(this.value);
+		}
+	}
+
+	private static class Var extends Node {
+
+		private final int index;
+		private final String owner;
+
+		Var(@Nonnull final Kind kind, final int index, @Nonnull final Class<?> owner) {
+			super(kind);
+			this.index = index;
+			this.owner = Type.getInternalName(owner);
+		}
+
+		@Override
+		void emit(@Nonnull final Generator gen) {
+			gen.mv.visitVarInsn(ALOAD, 0);
+			gen.mv.visitFieldInsn(GETFIELD, gen.name, "v" + this.index, "L" + this.owner + ";");
+			gen.mv.visitMethodInsn(INVOKEVIRTUAL, this.owner, this.kind.method, this.kind.sig, false);
+		}
+	}
+
+	private static class Not extends Node {
+
+		private final Node operand;
+
+		Not(@Nonnull final Node operand) {
+			super(Kind.BOOLEAN);
+			this.operand = operand;
+		}
+
+		@Override
+		void emit(@Nonnull final Generator gen) {
+			gen.emit(this.operand, Kind.BOOLEAN);
+			gen.mv.visitInsn(ICONST_1);
+			gen.mv.visitInsn(IXOR);
+		}
+	}
+
+	private static class Logic extends Node {
+
+		private final boolean and;
+		private final Node left;
+		private final Node right;
+
+		Logic(final boolean and, @Nonnull final Node left, @Nonnull final Node right) {
+			super(Kind.BOOLEAN);
+			this.and = and;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		void emit(@Nonnull final Generator gen) {
+			// Short circuits on the left operand like the interpreter
+			final int test = this.and ? IFEQ : IFNE;
+			final Label shortCircuit = new Label();
+			final Label end = new Label();
+			gen.emit(this.left, Kind.BOOLEAN);
+			gen.mv.visitJumpInsn(test, shortCircuit);
+			gen.emit(this.right, Kind.BOOLEAN);
+			gen.mv.visitJumpInsn(test, shortCircuit);
+			gen.mv.visitInsn(this.and ? ICONST_1 : ICONST_0);
+			gen.mv.visitJumpInsn(GOTO, end);
+			gen.mv.visitLabel(shortCircuit);
+			gen.mv.visitInsn(this.and ? ICONST_0 : ICONST_1);
+			gen.mv.visitLabel(end);
+		}
+	}
+
+	private static class Compare extends Node {
+
+		private final int failTest;
+		private final Node left;
+		private final Node right;
+
+		Compare(final int failTest, @Nonnull final Node left, @Nonnull final Node right) {
+			super(Kind.BOOLEAN);
+			this.failTest = failTest;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		void emit(@Nonnull final Generator gen) {
+			final Kind type = this.left.kind;
+			gen.emit(this.left, type);
+			gen.emit(this.right, type);
+			switch (type) {
+			case BOOLEAN:
+				gen.mv.visitMethodInsn(INVOKESTATIC, "java/lang/Boolean", "compare", "(ZZ)I", false);
+				break;
+			case NUMBER:
+				gen.mv.visitMethodInsn(INVOKESTATIC, "java/lang/Float", "compare", "(FF)I", false);
+				break;
+			default:
+				gen.mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "compareTo", "(Ljava/lang/String;)I",
+						false);
+				break;
+			}
+			gen.select(this.failTest, ICONST_1, ICONST_0);
+		}
+	}
+
+	private static class Arithmetic extends Node {
+
+		private final int opcode;
+		private final Node left;
+		private final Node right;
+
+		Arithmetic(final int opcode, @Nonnull final Node left, @Nonnull final Node right) {
+			super(Kind.NUMBER);
+			this.opcode = opcode;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		void emit(@Nonnull final Generator gen) {
+			gen.emit(this.left, Kind.NUMBER);
+			gen.emit(this.right, Kind.NUMBER);
+			gen.mv.visitInsn(this.opcode);
+		}
+	}
+
+	private static class Add extends Node {
+
+		private final Node left;
+		private final Node right;
+
+		Add(@Nonnull final Node left, @Nonnull final Node right) {
+			super(left.kind);
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		void emit(@Nonnull final Generator gen) {
+			switch (this.kind) {
+			case BOOLEAN:
+				// BooleanValue.add() is a logical or
+				new Logic(false, this.left, this.right).emit(gen);
+				break;
+			case NUMBER:
+				new Arithmetic(FADD, this.left, this.right).emit(gen);
+				break;
+			default:
+				gen.emit(this.left, Kind.STRING);
+				gen.emit(this.right, Kind.STRING);
+				gen.mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "concat",
+						"(Ljava/lang/String;)Ljava/lang/String;", false);
+				break;
+			}
+		}
+	}
+
+	private static class Generator {
+
+		private final Map<String, Lazy.ILazyVariant> variables;
+		private final List<Variant> fields = new ArrayList<>();
+
+		private String name;
+		private MethodVisitor mv;
+
+		Generator(@Nonnull final Map<String, Lazy.ILazyVariant> variables) {
+			this.variables = variables;
+		}
+
+		@Nonnull
+		Node parse(@Nonnull final List<String> rpn) {
+			final Deque<Node> stack = new ArrayDeque<>();
+			for (final String token : rpn) {
+				switch (token) {
+				case "!":
+					stack.push(new Not(stack.pop()));
+					break;
+				case "+": {
+					final Node right = stack.pop();
+					stack.push(new Add(stack.pop(), right));
+					break;
+				}
+				case "-":
+				case "*":
+				case "/":
+				case "%": {
+					final Node right = stack.pop();
+					stack.push(new Arithmetic(arithmetic(token), stack.pop(), right));
+					break;
+				}
+				case "&&":
+				case "||": {
+					final Node right = stack.pop();
+					stack.push(new Logic("&&".equals(token), stack.pop(), right));
+					break;
+				}
+				case ">":
+				case ">=":
+				case "<":
+				case "<=":
+				case "=":
+				case "==":
+				case "!=":
+				case "<>": {
+					final Node right = stack.pop();
+					stack.push(new Compare(failTest(token), stack.pop(), right));
+					break;
+				}
+				default:
+					stack.push(operand(token));
+					break;
+				}
+			}
+			if (stack.size() != 1)
+				throw new IllegalStateException("Unbalanced expression");
+			return stack.pop();
+		}
+
+		@Nonnull
+		private Node operand(@Nonnull final String token) {
+			final Lazy.ILazyVariant v = this.variables.get(token);
+			if (v != null) {
+				int idx = this.fields.indexOf(v);
+				if (idx == -1) {
+					idx = this.fields.size();
+					this.fields.add((Variant) v);
+				}
+				if (v instanceof Lazy.LazyBoolean)
+					return new Var(Kind.BOOLEAN, idx, Lazy.LazyBoolean.class);
+				if (v instanceof Lazy.LazyNumber)
+					return new Var(Kind.NUMBER, idx, Lazy.LazyNumber.class);
+				return new Var(Kind.STRING, idx, Lazy.LazyString.class);
+			}
+
+			switch (token) {
+			case "TRUE":
+				return new Literal(Kind.BOOLEAN, Boolean.TRUE);
+			case "FALSE":
+				return new Literal(Kind.BOOLEAN, Boolean.FALSE);
+			case "PI":
+				return new Literal(Kind.NUMBER, (float) Math.PI);
+			case "e":
+				return new Literal(Kind.NUMBER, (float) Math.E);
+			default:
+				break;
+			}
+
+			if (token.charAt(0) == '\'')
+				return new Literal(Kind.STRING, token.substring(1, token.length() - 1));
+
+			// Throws for function names and anything else that isn't a number
+			return new Literal(Kind.NUMBER, Float.parseFloat(token));
+		}
+
+		private static int arithmetic(@Nonnull final String token) {
+			switch (token) {
+			case "-":
+				return FSUB;
+			case "*":
+				return FMUL;
+			case "/":
+				return FDIV;
+			default:
+				return FREM;
+			}
+		}
+
+		// The jump taken on the result of compareTo() when the comparison fails
+		private static int failTest(@Nonnull final String token) {
+			switch (token) {
+			case ">":
+				return IFLE;
+			case ">=":
+				return IFLT;
+			case "<":
+				return IFGE;
+			case "<=":
+				return IFGT;
+			case "=":
+			case "==":
+				return IFNE;
+			default:
+				return IFEQ;
+			}
+		}
+
+		@Nonnull
+		byte[] generate(@Nonnull final String className, @Nonnull final Node root) {
+			this.name = className;
+
+			final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+			cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, BASE, null);
+
+			final String[] types = new String[this.fields.size()];
+			for (int i = 0; i < types.length; i++) {
+				types[i] = Type.getInternalName(this.fields.get(i) instanceof Lazy.LazyBoolean ? Lazy.LazyBoolean.class
+						: this.fields.get(i) instanceof Lazy.LazyNumber ? Lazy.LazyNumber.class
+								: Lazy.LazyString.class);
+				cw.visitField(ACC_PRIVATE | ACC_FINAL, "v" + i, "L" + types[i] + ";", null, null).visitEnd();
+			}
+
+			this.mv = cw.visitMethod(ACC_PUBLIC, "<init>", CTOR_SIG, null, null);
+			this.mv.visitCode();
+			this.mv.visitVarInsn(ALOAD, 0);
+			this.mv.visitMethodInsn(INVOKESPECIAL, BASE, "<init>", "()V", false);
+			for (int i = 0; i < types.length; i++) {
+				this.mv.visitVarInsn(ALOAD, 0);
+				this.mv.visitVarInsn(ALOAD, 1);
+				this.mv.visitLdcInsn(i);
+				this.mv.visitInsn(AALOAD);
+				this.mv.visitTypeInsn(CHECKCAST, types[i]);
+				this.mv.visitFieldInsn(PUTFIELD, className, "v" + i, "L" + types[i] + ";");
+			}
+			this.mv.visitInsn(RETURN);
+			this.mv.visitMaxs(0, 0);
+			this.mv.visitEnd();
+
+			this.mv = cw.visitMethod(ACC_PUBLIC, "evaluate", "()Z", null, null);
+			this.mv.visitCode();
+			emit(root, Kind.BOOLEAN);
+			this.mv.visitInsn(IRETURN);
+			this.mv.visitMaxs(0, 0);
+			this.mv.visitEnd();
+
+			cw.visitEnd();
+			return cw.toByteArray();
+		}
+
+		// Emits the node and converts the result the way the matching Value
+		// class would when asked for the other type.
+		void emit(@Nonnull final Node node, @Nonnull final Kind want) {
+			node.emit(this);
+			if (node.kind == want)
+				return;
+
+			switch (node.kind) {
+			case BOOLEAN:
+				if (want == Kind.NUMBER)
+					select(IFEQ, FCONST_1, FCONST_0);
+				else
+					select(IFEQ, "TRUE", "FALSE");
+				break;
+			case NUMBER:
+				if (want == Kind.BOOLEAN) {
+					this.mv.visitInsn(FCONST_0);
+					this.mv.visitInsn(FCMPL);
+					select(IFEQ, ICONST_1, ICONST_0);
+				} else {
+					this.mv.visitMethodInsn(INVOKESTATIC, BASE, "numberToString", "(F)Ljava/lang/String;", false);
+				}
+				break;
+			default:
+				if (want == Kind.BOOLEAN)
+					this.mv.visitMethodInsn(INVOKESTATIC, BASE, "stringToBoolean", "(Ljava/lang/String;)Z", false);
+				else
+					this.mv.visitMethodInsn(INVOKESTATIC, "java/lang/Float", "parseFloat", "(Ljava/lang/String;)F",
+							false);
+				break;
+			}
+		}
+
+		// Pushes pass when the test jump is not taken, fail when it is
+		void select(final int test, @Nonnull final Object pass, @Nonnull final Object fail) {
+			final Label failed = new Label();
+			final Label end = new Label();
+			this.mv.visitJumpInsn(test, failed);
+			push(pass);
+			this.mv.visitJumpInsn(GOTO, end);
+			this.mv.visitLabel(failed);
+			push(fail);
+			this.mv.visitLabel(end);
+		}
+
+		private void push(@Nonnull final Object value) {
+			if (value instanceof Integer)
+				this.mv.visitInsn((Integer) value);
+			else
+				this.mv.visitLdcInsn(value);
+		}
+	}
+
+	private static final class Loader extends ClassLoader {
+
+		Loader(@Nonnull final ClassLoader parent) {
+			super(parent);
+		}
+
+		@Nonnull
+		Class<?> define(@Nonnull final String name, @Nonnull final byte[] bytes) {
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+}
@@ -22,13 +22,25 @@
  */
 package org.orecruncher.dsurround.expression;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
 import org.orecruncher.dsurround.ModBase;
+import org.orecruncher.dsurround.ModOptions;
+import org.orecruncher.lib.expression.DynamicVariantList;
+import org.orecruncher.lib.expression.Expression;
 import org.orecruncher.lib.expression.ExpressionCache;
 import org.orecruncher.lib.expression.IDynamicVariant;
+import org.orecruncher.lib.expression.LazyVariant;
 import org.orecruncher.lib.expression.Variant;
 
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
 public final class ExpressionEngine {
 
 	private static ExpressionEngine instance;
@@ -40,18 +52,98 @@ public final class ExpressionEngine {
 	}
 
 	private final ExpressionCache cache = new ExpressionCache(ModBase.log());
+	private final List<DynamicVariantList> variants = new ArrayList<>();
+	private final Object2ObjectOpenHashMap<String, Condition> conditions = new Object2ObjectOpenHashMap<>();
+	private final Object2ObjectOpenHashMap<String, Lazy.ILazyVariant> lazyVariables = new Object2ObjectOpenHashMap<>();
+	private final Condition always = new Condition(this, StringUtils.EMPTY, Expression.TRUE, null,
+			new Lazy.ILazyVariant[0]);
+
+	// Bumped every update so condition handles know when to re-evaluate
+	private int generation;
 
 	private ExpressionEngine() {
-		this.cache.add(new BiomeTypeVariables());
-		this.cache.add(new BiomeVariables());
-		this.cache.add(new PlayerVariables());
-		this.cache.add(new WeatherVariables());
-		this.cache.add(new BattleVariables());
-		this.cache.add(new MiscVariables());
+		add(new BiomeTypeVariables());
+		add(new BiomeVariables());
+		add(new PlayerVariables());
+		add(new WeatherVariables());
+		add(new BattleVariables());
+		add(new MiscVariables());
 	}
 
+	private void add(@Nonnull final DynamicVariantList list) {
+		this.variants.add(list);
+		this.cache.add(list);
+		for (final IDynamicVariant<?> v : list.getList())
+			if (v instanceof Lazy.ILazyVariant)
+				this.lazyVariables.put(((Variant) v).getName(), (Lazy.ILazyVariant) v);
+	}
+
+	/**
+	 * Starts a new update. The dynamic variables are lazy so nothing is computed
+	 * here; a variable catches up the first time a script reads it.
+	 */
 	public void update() {
-		this.cache.update();
+		this.generation++;
+	}
+
+	int getGeneration() {
+		return this.generation;
+	}
+
+	/**
+	 * Obtains the condition handle for the specified script. Handles are shared
+	 * between callers that use the same script so each distinct condition is
+	 * evaluated at most once per update. An empty script always passes.
+	 */
+	@Nonnull
+	public Condition compile(@Nullable final String exp) {
+		if (StringUtils.isEmpty(exp))
+			return this.always;
+		Condition result = this.conditions.get(exp);
+		if (result == null) {
+			LazyVariant program;
+			Lazy.ILazyVariant[] dependencies;
+			CompiledExpression compiled = null;
+			try {
+				final Expression expression = new Expression(exp);
+				this.variants.forEach(list -> list.attach(expression));
+				program = expression.getProgram();
+				dependencies = getDependencies(expression);
+				if (ModOptions.general.enableScriptCompilation)
+					compiled = ExpressionCompiler.compile(expression, this.lazyVariables);
+			} catch (final Throwable t) {
+				// Let the cache record and log the failure so it shows up in
+				// the naughty list like any other bad script.
+				program = this.cache.eval(exp);
+				dependencies = new Lazy.ILazyVariant[0];
+			}
+			result = new Condition(this, exp, program, compiled, dependencies);
+			this.conditions.put(exp, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Works out which lazy variables the script reads. Returns null if the script
+	 * depends on something other than those variables, such as RANDOM or ONEOF,
+	 * in which case it has to be evaluated every update.
+	 */
+	@Nullable
+	private Lazy.ILazyVariant[] getDependencies(@Nonnull final Expression expression) {
+		final Set<String> declared = expression.getDeclaredVariables();
+		final List<Lazy.ILazyVariant> result = new ArrayList<>();
+		for (final String token : expression.getRPN()) {
+			if ("RANDOM".equalsIgnoreCase(token) || "ONEOF".equalsIgnoreCase(token))
+				return null;
+			final Lazy.ILazyVariant v = this.lazyVariables.get(token);
+			if (v != null) {
+				if (!result.contains(v))
+					result.add(v);
+			} else if (declared.contains(token)) {
+				return null;
+			}
+		}
+		return result.toArray(new Lazy.ILazyVariant[0]);
 	}
 
 	public List<IDynamicVariant<?>> getVariables() {
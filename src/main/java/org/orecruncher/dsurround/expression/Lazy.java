@@ -0,0 +1,212 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.orecruncher.dsurround.expression;
+
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.lib.expression.Dynamic;
+import org.orecruncher.lib.expression.Variant;
+
+/**
+ * Dynamic variables that are computed on demand rather than every tick. A
+ * variable is brought current the first time it is read after an engine update
+ * so variables that no script references are never computed. Each variable also
+ * remembers the update in which its value last changed, which lets a
+ * {@link Condition} skip evaluation when none of its inputs moved.
+ */
+public final class Lazy {
+
+	private Lazy() {
+
+	}
+
+	interface ILazyVariant {
+
+		/**
+		 * Brings the value current for this update and returns the engine
+		 * generation in which the value last changed.
+		 */
+		int refresh();
+	}
+
+	public abstract static class LazyBoolean extends Dynamic.DynamicBoolean implements ILazyVariant {
+
+		private int generation = -1;
+		private int changed = -1;
+
+		public LazyBoolean(@Nonnull final String name) {
+			super(name);
+		}
+
+		@Override
+		public int refresh() {
+			final int current = ExpressionEngine.instance().getGeneration();
+			if (this.generation != current) {
+				final boolean last = this.value;
+				update();
+				if (this.generation == -1 || last != this.value)
+					this.changed = current;
+				this.generation = current;
+			}
+			return this.changed;
+		}
+
+		@Override
+		public float asNumber() {
+			refresh();
+			return super.asNumber();
+		}
+
+		@Override
+		public String asString() {
+			refresh();
+			return super.asString();
+		}
+
+		@Override
+		public boolean asBoolean() {
+			refresh();
+			return super.asBoolean();
+		}
+
+		@Override
+		public int compareTo(@Nonnull final Variant variant) {
+			refresh();
+			return super.compareTo(variant);
+		}
+
+		@Override
+		public Variant add(@Nonnull final Variant term) {
+			refresh();
+			return super.add(term);
+		}
+	}
+
+	public abstract static class LazyNumber extends Dynamic.DynamicNumber implements ILazyVariant {
+
+		private int generation = -1;
+		private int changed = -1;
+
+		public LazyNumber(@Nonnull final String name) {
+			super(name);
+		}
+
+		@Override
+		public int refresh() {
+			final int current = ExpressionEngine.instance().getGeneration();
+			if (this.generation != current) {
+				final float last = this.value;
+				update();
+				if (this.generation == -1 || Float.compare(last, this.value) != 0)
+					this.changed = current;
+				this.generation = current;
+			}
+			return this.changed;
+		}
+
+		@Override
+		public float asNumber() {
+			refresh();
+			return super.asNumber();
+		}
+
+		@Override
+		public String asString() {
+			refresh();
+			return super.asString();
+		}
+
+		@Override
+		public boolean asBoolean() {
+			refresh();
+			return super.asBoolean();
+		}
+
+		@Override
+		public int compareTo(@Nonnull final Variant variant) {
+			refresh();
+			return super.compareTo(variant);
+		}
+
+		@Override
+		public Variant add(@Nonnull final Variant term) {
+			refresh();
+			return super.add(term);
+		}
+	}
+
+	public abstract static class LazyString extends Dynamic.DynamicString implements ILazyVariant {
+
+		private int generation = -1;
+		private int changed = -1;
+
+		public LazyString(@Nonnull final String name) {
+			super(name);
+		}
+
+		@Override
+		public int refresh() {
+			final int current = ExpressionEngine.instance().getGeneration();
+			if (this.generation != current) {
+				final String last = this.value;
+				update();
+				if (this.generation == -1 || !Objects.equals(last, this.value))
+					this.changed = current;
+				this.generation = current;
+			}
+			return this.changed;
+		}
+
+		@Override
+		public float asNumber() {
+			refresh();
+			return super.asNumber();
+		}
+
+		@Override
+		public String asString() {
+			refresh();
+			return super.asString();
+		}
+
+		@Override
+		public boolean asBoolean() {
+			refresh();
+			return super.asBoolean();
+		}
+
+		@Override
+		public int compareTo(@Nonnull final Variant variant) {
+			refresh();
+			return super.compareTo(variant);
+		}
+
+		@Override
+		public Variant add(@Nonnull final Variant term) {
+			refresh();
+			return super.add(term);
+		}
+	}
+}
@@ -24,7 +24,6 @@ package org.orecruncher.dsurround.expression;
 
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.lib.DiurnalUtils;
-import org.orecruncher.lib.expression.Dynamic;
 import org.orecruncher.lib.expression.DynamicVariantList;
 
 import net.minecraft.world.World;
@@ -32,50 +31,50 @@ import net.minecraft.world.World;
 public class MiscVariables extends DynamicVariantList {
 
 	public MiscVariables() {
-		add(new Dynamic.DynamicBoolean("isDay") {
+		add(new Lazy.LazyBoolean("isDay") {
 			@Override
 			public void update() {
 				this.value = DiurnalUtils.isDaytime(EnvironState.getWorld());
 			}
 		});
-		add(new Dynamic.DynamicBoolean("isNight") {
+		add(new Lazy.LazyBoolean("isNight") {
 			@Override
 			public void update() {
 				this.value = DiurnalUtils.isNighttime(EnvironState.getWorld());
 			}
 		});
-		add(new Dynamic.DynamicBoolean("isSunrise") {
+		add(new Lazy.LazyBoolean("isSunrise") {
 			@Override
 			public void update() {
 				this.value = DiurnalUtils.isSunrise(EnvironState.getWorld());
 			}
 		});
-		add(new Dynamic.DynamicBoolean("isSunset") {
+		add(new Lazy.LazyBoolean("isSunset") {
 			@Override
 			public void update() {
 				this.value = DiurnalUtils.isSunset(EnvironState.getWorld());
 			}
 		});
-		add(new Dynamic.DynamicBoolean("isAuroraVisible") {
+		add(new Lazy.LazyBoolean("isAuroraVisible") {
 			@Override
 			public void update() {
 				this.value = DiurnalUtils.isAuroraVisible(EnvironState.getWorld());
 			}
 		});
-		add(new Dynamic.DynamicNumber("moonPhaseFactor") {
+		add(new Lazy.LazyNumber("moonPhaseFactor") {
 			@Override
 			public void update() {
 				this.value = DiurnalUtils.getMoonPhaseFactor(EnvironState.getWorld());
 			}
 		});
-		add(new Dynamic.DynamicBoolean("hasSky") {
+		add(new Lazy.LazyBoolean("hasSky") {
 			@Override
 			public void update() {
 				final World world = EnvironState.getWorld();
 				this.value = world != null && world.provider.hasSkyLight();
 			}
 		});
-		add(new Dynamic.DynamicString("season") {
+		add(new Lazy.LazyString("season") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getSeason().getValue();
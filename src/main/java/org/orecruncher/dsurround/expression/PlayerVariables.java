@@ -23,7 +23,6 @@
 package org.orecruncher.dsurround.expression;
 
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
-import org.orecruncher.lib.expression.Dynamic;
 import org.orecruncher.lib.expression.DynamicVariantList;
 
 import net.minecraft.block.material.Material;
@@ -35,203 +34,203 @@ import net.minecraft.world.World;
 public class PlayerVariables extends DynamicVariantList {
 
 	public PlayerVariables() {
-		add(new Dynamic.DynamicBoolean("player.isDead") {
+		add(new Lazy.LazyBoolean("player.isDead") {
 			@Override
 			public void update() {
 				final EntityPlayer player = EnvironState.getPlayer();
 				this.value = player != null && player.isDead;
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isHurt") {
+		add(new Lazy.LazyBoolean("player.isHurt") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerHurt();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isHungry") {
+		add(new Lazy.LazyBoolean("player.isHungry") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerHungry();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isBurning") {
+		add(new Lazy.LazyBoolean("player.isBurning") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerBurning();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isSuffocating") {
+		add(new Lazy.LazyBoolean("player.isSuffocating") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerSuffocating();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isFlying") {
+		add(new Lazy.LazyBoolean("player.isFlying") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerFlying();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isSprinting") {
+		add(new Lazy.LazyBoolean("player.isSprinting") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerSprinting();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isInLava") {
+		add(new Lazy.LazyBoolean("player.isInLava") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerInLava();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isInvisible") {
+		add(new Lazy.LazyBoolean("player.isInvisible") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerInvisible();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isBlind") {
+		add(new Lazy.LazyBoolean("player.isBlind") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerBlind();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isInWater") {
+		add(new Lazy.LazyBoolean("player.isInWater") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerInWater();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isWet") {
+		add(new Lazy.LazyBoolean("player.isWet") {
 			@Override
 			public void update() {
 				final EntityPlayer player = EnvironState.getPlayer();
 				this.value = player != null && player.isWet();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isUnderwater") {
+		add(new Lazy.LazyBoolean("player.isUnderwater") {
 			@Override
 			public void update() {
 				final EntityPlayer player = EnvironState.getPlayer();
 				this.value = player != null && player.isInsideOfMaterial(Material.WATER);
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isRiding") {
+		add(new Lazy.LazyBoolean("player.isRiding") {
 			@Override
 			public void update() {
 				final EntityPlayer player = EnvironState.getPlayer();
 				this.value = player != null && player.isRiding();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isOnGround") {
+		add(new Lazy.LazyBoolean("player.isOnGround") {
 			@Override
 			public void update() {
 				final EntityPlayer player = EnvironState.getPlayer();
 				this.value = player != null && player.onGround;
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isMoving") {
+		add(new Lazy.LazyBoolean("player.isMoving") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerMoving();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isInside") {
+		add(new Lazy.LazyBoolean("player.isInside") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerInside();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isUnderground") {
+		add(new Lazy.LazyBoolean("player.isUnderground") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerUnderground();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isInSpace") {
+		add(new Lazy.LazyBoolean("player.isInSpace") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerInSpace();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.isInClouds") {
+		add(new Lazy.LazyBoolean("player.isInClouds") {
 			@Override
 			public void update() {
 				this.value = EnvironState.isPlayerInClouds();
 			}
 		});
-		add(new Dynamic.DynamicString("player.temperature") {
+		add(new Lazy.LazyString("player.temperature") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getPlayerTemperature().getValue();
 			}
 		});
-		add(new Dynamic.DynamicNumber("player.dimension") {
+		add(new Lazy.LazyNumber("player.dimension") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getDimensionId();
 			}
 		});
-		add(new Dynamic.DynamicString("player.dimensionName") {
+		add(new Lazy.LazyString("player.dimensionName") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getDimensionName();
 			}
 		});
-		add(new Dynamic.DynamicNumber("player.X") {
+		add(new Lazy.LazyNumber("player.X") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getPlayerPosition().getX();
 			}
 		});
-		add(new Dynamic.DynamicNumber("player.Y") {
+		add(new Lazy.LazyNumber("player.Y") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getPlayerPosition().getY();
 			}
 		});
-		add(new Dynamic.DynamicNumber("player.Z") {
+		add(new Lazy.LazyNumber("player.Z") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getPlayerPosition().getZ();
 			}
 		});
-		add(new Dynamic.DynamicNumber("player.health") {
+		add(new Lazy.LazyNumber("player.health") {
 			@Override
 			public void update() {
 				final EntityPlayer player = EnvironState.getPlayer();
 				this.value = player != null ? player.getHealth() : Integer.MAX_VALUE;
 			}
 		});
-		add(new Dynamic.DynamicNumber("player.maxHealth") {
+		add(new Lazy.LazyNumber("player.maxHealth") {
 			@Override
 			public void update() {
 				final EntityPlayer player = EnvironState.getPlayer();
 				this.value = player != null ? player.getMaxHealth() : Integer.MAX_VALUE;
 			}
 		});
-		add(new Dynamic.DynamicNumber("player.luck") {
+		add(new Lazy.LazyNumber("player.luck") {
 			@Override
 			public void update() {
 				final EntityPlayer player = EnvironState.getPlayer();
 				this.value = player != null ? player.getLuck() : 0;
 			}
 		});
-		add(new Dynamic.DynamicNumber("player.food.saturation") {
+		add(new Lazy.LazyNumber("player.food.saturation") {
 			@Override
 			public void update() {
 				final EntityPlayer player = EnvironState.getPlayer();
 				this.value = player != null ? player.getFoodStats().getSaturationLevel() : 0;
 			}
 		});
-		add(new Dynamic.DynamicNumber("player.food.level") {
+		add(new Lazy.LazyNumber("player.food.level") {
 			@Override
 			public void update() {
 				final EntityPlayer player = EnvironState.getPlayer();
 				this.value = player != null ? player.getFoodStats().getFoodLevel() : 0;
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.canRainOn") {
+		add(new Lazy.LazyBoolean("player.canRainOn") {
 			@Override
 			public void update() {
 				final World world = EnvironState.getWorld();
@@ -244,7 +243,7 @@ public class PlayerVariables extends DynamicVariantList {
 				}
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.canSeeSky") {
+		add(new Lazy.LazyBoolean("player.canSeeSky") {
 			@Override
 			public void update() {
 				final World world = EnvironState.getWorld();
@@ -256,26 +255,26 @@ public class PlayerVariables extends DynamicVariantList {
 				}
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.inBoat") {
+		add(new Lazy.LazyBoolean("player.inBoat") {
 			@Override
 			public void update() {
 				final EntityPlayer player = EnvironState.getPlayer();
 				this.value = player != null && player.getRidingEntity() instanceof EntityBoat;
 			}
 		});
-		add(new Dynamic.DynamicNumber("player.lightLevel") {
+		add(new Lazy.LazyNumber("player.lightLevel") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getLightLevel();
 			}
 		});
-		add(new Dynamic.DynamicString("player.armor") {
+		add(new Lazy.LazyString("player.armor") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getPlayerArmorClass().name();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("player.inVillage") {
+		add(new Lazy.LazyBoolean("player.inVillage") {
 			@Override
 			public void update() {
 				this.value = EnvironState.inVillage();
@@ -25,49 +25,48 @@ package org.orecruncher.dsurround.expression;
 import org.orecruncher.dsurround.capabilities.season.TemperatureRating;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.dsurround.client.weather.Weather;
-import org.orecruncher.lib.expression.Dynamic;
 import org.orecruncher.lib.expression.DynamicVariantList;
 
 public class WeatherVariables extends DynamicVariantList {
 
 	public WeatherVariables() {
-		add(new Dynamic.DynamicBoolean("weather.isRaining") {
+		add(new Lazy.LazyBoolean("weather.isRaining") {
 			@Override
 			public void update() {
 				this.value = Weather.isRaining();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("weather.isThundering") {
+		add(new Lazy.LazyBoolean("weather.isThundering") {
 			@Override
 			public void update() {
 				this.value = Weather.isThundering();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("weather.isNotRaining") {
+		add(new Lazy.LazyBoolean("weather.isNotRaining") {
 			@Override
 			public void update() {
 				this.value = !Weather.isRaining();
 			}
 		});
-		add(new Dynamic.DynamicBoolean("weather.isNotThundering") {
+		add(new Lazy.LazyBoolean("weather.isNotThundering") {
 			@Override
 			public void update() {
 				this.value = !Weather.isThundering();
 			}
 		});
-		add(new Dynamic.DynamicNumber("weather.rainfall") {
+		add(new Lazy.LazyNumber("weather.rainfall") {
 			@Override
 			public void update() {
 				this.value = Weather.getIntensityLevel();
 			}
 		});
-		add(new Dynamic.DynamicNumber("weather.temperatureValue") {
+		add(new Lazy.LazyNumber("weather.temperatureValue") {
 			@Override
 			public void update() {
 				this.value = EnvironState.getPlayerBiome().getFloatTemperature(EnvironState.getPlayerPosition());
 			}
 		});
-		add(new Dynamic.DynamicString("weather.temperature") {
+		add(new Lazy.LazyString("weather.temperature") {
 			@Override
 			public void update() {
 				this.value = TemperatureRating
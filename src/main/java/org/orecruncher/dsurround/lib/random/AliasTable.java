@@ -0,0 +1,125 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.lib.random;
+
+import java.util.Collection;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.lib.WeightTable.IItem;
+
+/**
+ * Immutable weighted selector using Vose's alias method. Building the table is
+ * O(n); each pick afterwards is two random numbers and an array lookup with no
+ * allocation. The table is kept in integer form so the pick distribution is
+ * exactly the configured weights. Items with a weight of zero or less are never
+ * picked.
+ */
+public final class AliasTable<T> {
+
+	private final Object[] items;
+	// Chance out of total that a column returns its own item rather than its
+	// alias
+	private final int[] threshold;
+	private final int[] alias;
+	private final int total;
+
+	public AliasTable(@Nonnull final Collection<? extends IItem<? extends T>> entries) {
+		int count = 0;
+		long sum = 0;
+		for (final IItem<? extends T> e : entries)
+			if (e.getWeight() > 0) {
+				count++;
+				sum += e.getWeight();
+			}
+
+		this.items = new Object[count];
+		this.threshold = new int[count];
+		this.alias = new int[count];
+		this.total = (int) sum;
+
+		if (count == 0)
+			return;
+
+		// Each column is scaled so the average is the total weight
+		final long[] scaled = new long[count];
+		int idx = 0;
+		for (final IItem<? extends T> e : entries)
+			if (e.getWeight() > 0) {
+				this.items[idx] = e.getItem();
+				scaled[idx] = (long) e.getWeight() * count;
+				idx++;
+			}
+
+		final int[] small = new int[count];
+		final int[] large = new int[count];
+		int smallCount = 0;
+		int largeCount = 0;
+		for (int i = 0; i < count; i++) {
+			if (scaled[i] < sum)
+				small[smallCount++] = i;
+			else
+				large[largeCount++] = i;
+		}
+
+		while (smallCount > 0 && largeCount > 0) {
+			final int l = small[--smallCount];
+			final int g = large[--largeCount];
+			this.threshold[l] = (int) scaled[l];
+			this.alias[l] = g;
+			scaled[g] = scaled[g] + scaled[l] - sum;
+			if (scaled[g] < sum)
+				small[smallCount++] = g;
+			else
+				large[largeCount++] = g;
+		}
+
+		// Whatever remains is full
+		while (largeCount > 0)
+			this.threshold[large[--largeCount]] = this.total;
+		while (smallCount > 0)
+			this.threshold[small[--smallCount]] = this.total;
+	}
+
+	public boolean isEmpty() {
+		return this.items.length == 0;
+	}
+
+	public int size() {
+		return this.items.length;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public T next(@Nonnull final Random random) {
+		if (this.items.length == 0)
+			return null;
+		final int column = random.nextInt(this.items.length);
+		return (T) (random.nextInt(this.total) < this.threshold[column] ? this.items[column]
+				: this.items[this.alias[column]]);
+	}
+}
@@ -0,0 +1,86 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.lib.random;
+
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.lib.WeightTable;
+import org.orecruncher.lib.WeightTable.IEntrySource;
+import org.orecruncher.lib.WeightTable.IItem;
+import org.orecruncher.lib.collections.ObjectArray;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+/**
+ * Weighted selector over entries that are only candidates while their
+ * condition holds. The set of matching entries is tracked as a bit mask and an
+ * AliasTable is built the first time each distinct set is seen, so after warm
+ * up a pick only costs the condition checks. Not thread safe.
+ */
+public final class ConditionalAliasTable<T> {
+
+	// Beyond this the match set no longer fits a mask
+	private static final int MAX_ENTRIES = 64;
+
+	private final IEntrySource<? extends T>[] sources;
+	private final Long2ObjectOpenHashMap<AliasTable<T>> tables = new Long2ObjectOpenHashMap<>();
+
+	private long lastMask = -1;
+	private AliasTable<T> last;
+
+	public ConditionalAliasTable(@Nonnull final IEntrySource<? extends T>[] sources) {
+		this.sources = sources;
+	}
+
+	@Nullable
+	public T next(@Nonnull final Random random) {
+		if (this.sources.length > MAX_ENTRIES)
+			return new WeightTable<>(this.sources).next();
+
+		long mask = 0;
+		for (int i = 0; i < this.sources.length; i++)
+			if (this.sources[i].matches())
+				mask |= 1L << i;
+
+		if (mask != this.lastMask || this.last == null) {
+			AliasTable<T> table = this.tables.get(mask);
+			if (table == null) {
+				final ObjectArray<IItem<? extends T>> entries = new ObjectArray<>(this.sources.length);
+				for (int i = 0; i < this.sources.length; i++)
+					if ((mask & (1L << i)) != 0)
+						entries.add(this.sources[i].getEntry());
+				table = new AliasTable<>(entries);
+				this.tables.put(mask, table);
+			}
+			this.lastMask = mask;
+			this.last = table;
+		}
+
+		return this.last.next(random);
+	}
+}
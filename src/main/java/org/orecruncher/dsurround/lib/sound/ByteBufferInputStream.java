@@ -0,0 +1,103 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.lib.sound;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import javax.annotation.Nonnull;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * InputStream over a ByteBuffer view of a cached sound buffer. Each stream
+ * works on its own duplicate of the view so multiple decoders can read the same
+ * backing array concurrently without copying it. Unlike ByteArrayInputStream
+ * none of the methods are synchronized.
+ */
+@SideOnly(Side.CLIENT)
+public class ByteBufferInputStream extends InputStream {
+
+	protected final ByteBuffer buffer;
+
+	public ByteBufferInputStream(@Nonnull final ByteBuffer buffer) {
+		this.buffer = buffer.duplicate();
+		// Like ByteArrayInputStream a reset() without a prior mark() goes back to
+		// the start of the data
+		this.buffer.mark();
+	}
+
+	@Override
+	public int read() {
+		return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+	}
+
+	@Override
+	public int read(@Nonnull final byte[] b, final int off, final int len) {
+		if (len == 0)
+			return 0;
+		final int remaining = this.buffer.remaining();
+		if (remaining == 0)
+			return -1;
+		final int count = Math.min(len, remaining);
+		this.buffer.get(b, off, count);
+		return count;
+	}
+
+	@Override
+	public long skip(final long n) {
+		if (n <= 0)
+			return 0;
+		final int count = (int) Math.min(n, this.buffer.remaining());
+		this.buffer.position(this.buffer.position() + count);
+		return count;
+	}
+
+	@Override
+	public int available() {
+		return this.buffer.remaining();
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public void mark(final int readlimit) {
+		this.buffer.mark();
+	}
+
+	@Override
+	public void reset() {
+		this.buffer.reset();
+	}
+
+	@Override
+	public void close() {
+		// Nothing to release - the backing array belongs to the cache
+	}
+
+}
@@ -25,6 +25,7 @@ package org.orecruncher.dsurround.lib.sound;
 
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
 
 import javax.annotation.Nonnull;
 
@@ -35,11 +36,13 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class MemoryStreamHandler extends SoundStreamHandler {
 
-	protected final byte[] buffer;
+	protected final ByteBuffer buffer;
 
 	public MemoryStreamHandler(@Nonnull final ResourceLocation resource, @Nonnull final byte[] buffer) {
 		super(resource);
-		this.buffer = buffer;
+		// Read-only view so connections can hand out slices of the cached
+		// data without copying it.
+		this.buffer = ByteBuffer.wrap(buffer).asReadOnlyBuffer();
 	}
 
 	@Override
@@ -23,11 +23,11 @@
 
 package org.orecruncher.dsurround.lib.sound;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
 
 import javax.annotation.Nonnull;
 
@@ -37,9 +37,9 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class MemoryURLConnection extends URLConnection {
 
-	protected final byte[] buffer;
+	protected final ByteBuffer buffer;
 
-	protected MemoryURLConnection(@Nonnull final URL url, @Nonnull final byte[] buffer) {
+	protected MemoryURLConnection(@Nonnull final URL url, @Nonnull final ByteBuffer buffer) {
 		super(url);
 
 		this.buffer = buffer;
@@ -51,7 +51,7 @@ public class MemoryURLConnection extends URLConnection {
 
 	@Override
 	public InputStream getInputStream() throws IOException {
-		return new ByteArrayInputStream(this.buffer);
+		return new ByteBufferInputStream(this.buffer);
 	}
 
 }
@@ -26,29 +26,35 @@ package org.orecruncher.dsurround.lib.sound;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.Arrays;
-import java.util.Map;
 
 import javax.annotation.Nonnull;
 
 import org.orecruncher.dsurround.ModBase;
+import org.orecruncher.dsurround.ModOptions;
 import org.orecruncher.lib.LibLog;
 
 import com.google.common.io.ByteStreams;
 
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.resources.IResourceManager;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * Cache of sound URLs handed to the sound system. Small sounds are held in
+ * memory while larger ones are streamed from their resource. The memory held
+ * by the cache is bounded by the configured size; when it is exceeded the
+ * least recently played sounds are evicted. Access is synchronized because
+ * the sound system can request URLs from its own thread.
+ */
 @SideOnly(Side.CLIENT)
 public final class SoundCache {
 
 	private static final int BUFFER_SIZE = 64 * 1024;
-	private static final byte[] BUFFER = new byte[BUFFER_SIZE];
+	private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
 	private static final IResourceManager manager = Minecraft.getMinecraft().getResourceManager();
-	private static final Map<ResourceLocation, URL> cache = new Object2ObjectOpenHashMap<>(256);
 
 	private static final ResourceLocation SILENCE_RESOURCE = new ResourceLocation(ModBase.RESOURCE_ID,
 			"sounds/ambient/silence.ogg");
@@ -65,6 +71,26 @@ public final class SoundCache {
 		}
 	}
 
+	private static final class CacheEntry {
+		public final URL url;
+		public final int size;
+
+		public CacheEntry(@Nonnull final URL url, final int size) {
+			this.url = url;
+			this.size = size;
+		}
+	}
+
+	// Insertion order is maintained as play order - the first entry is the
+	// least recently played.
+	private static final Object2ObjectLinkedOpenHashMap<ResourceLocation, CacheEntry> cache = new Object2ObjectLinkedOpenHashMap<>(
+			256);
+
+	private static long cacheBytes;
+	private static long hits;
+	private static long misses;
+	private static long evictions;
+
 	private static byte[] getBuffer(@Nonnull final ResourceLocation resource) {
 		try (final InputStream stream = manager.getResource(resource).getInputStream()) {
 			// It's possible that available() returns 0. This generally means
@@ -74,14 +100,17 @@ public final class SoundCache {
 				LibLog.log().warn("No stream returned for [%s]", resource.toString());
 				return SILENCE;
 			} else if (stream.available() < BUFFER_SIZE) {
-				final int bytesRead = ByteStreams.read(stream, BUFFER, 0, BUFFER_SIZE);
+				// Each thread gets its own scratch buffer so that loads can
+				// happen concurrently.
+				final byte[] buffer = BUFFER.get();
+				final int bytesRead = ByteStreams.read(stream, buffer, 0, BUFFER_SIZE);
 				// If no bytes were returned, or the total read was 64K, assume
 				// that it needs to be streamed.
 				if (bytesRead == 0 || bytesRead == BUFFER_SIZE)
 					return null;
 				// Make a new array containing the data. Don't want to
-				// pass back BUFFER.
-				return Arrays.copyOf(BUFFER, bytesRead);
+				// pass back the scratch buffer.
+				return Arrays.copyOf(buffer, bytesRead);
 			}
 		} catch (@Nonnull final Throwable t) {
 			LibLog.log().warn("Error reading stream [%s]", resource.toString());
@@ -91,18 +120,62 @@ public final class SoundCache {
 		return null;
 	}
 
-	private static URL load(@Nonnull final ResourceLocation key) throws Exception {
+	private static CacheEntry load(@Nonnull final ResourceLocation key) throws Exception {
 
 		final byte[] buffer = getBuffer(key);
 		final SoundStreamHandler handler;
+		final int size;
 
 		if (buffer == null) {
 			handler = new SoundStreamHandler(key);
+			size = 0;
 		} else {
 			handler = new MemoryStreamHandler(key, buffer);
+			// The shared silence buffer does not count against the cache
+			size = buffer == SILENCE ? 0 : buffer.length;
 		}
 
-		return new URL((URL) null, handler.getSpec(), handler);
+		return new CacheEntry(new URL((URL) null, handler.getSpec(), handler), size);
+	}
+
+	/*
+	 * Resource I/O is done outside of the lock so that other threads are not
+	 * blocked while the sound is read.
+	 */
+	private static CacheEntry loadEntry(@Nonnull final ResourceLocation soundResource) {
+		try {
+			return load(soundResource);
+		} catch (@Nonnull final Throwable t) {
+			LibLog.log().warn("Unable to load sound resource for [%s]", soundResource.toString());
+			return null;
+		}
+	}
+
+	/*
+	 * Must be called while holding the cache lock.
+	 */
+	private static void insert(@Nonnull final ResourceLocation soundResource, @Nonnull final CacheEntry entry) {
+		cache.putAndMoveToLast(soundResource, entry);
+		cacheBytes += entry.size;
+		trim();
+	}
+
+	private static long maxCacheBytes() {
+		return ModOptions.sound.soundCacheSize * 1024L * 1024L;
+	}
+
+	/*
+	 * Evicts least recently played entries until the cache fits within its
+	 * budget. The most recently played entry is never evicted. Must be called
+	 * while holding the cache lock.
+	 */
+	private static void trim() {
+		final long limit = maxCacheBytes();
+		while (cacheBytes > limit && cache.size() > 1) {
+			final CacheEntry entry = cache.removeFirst();
+			cacheBytes -= entry.size;
+			evictions++;
+		}
 	}
 
 	private SoundCache() {
@@ -110,15 +183,85 @@ public final class SoundCache {
 	}
 
 	public static URL getURLForSoundResource(@Nonnull final ResourceLocation soundResource) {
-		URL result = cache.get(soundResource);
-		if (result == null)
-			try {
-				cache.put(soundResource, result = load(soundResource));
-			} catch (@Nonnull final Throwable t) {
-				LibLog.log().warn("Unable to load sound resource for [%s]", soundResource.toString());
-				result = SILENCE_URL;
+		synchronized (cache) {
+			final CacheEntry entry = cache.getAndMoveToLast(soundResource);
+			if (entry != null) {
+				hits++;
+				return entry.url;
 			}
-		return result;
+			misses++;
+		}
+
+		final CacheEntry loaded = loadEntry(soundResource);
+		if (loaded == null)
+			return SILENCE_URL;
+
+		synchronized (cache) {
+			// Another thread may have loaded the same sound in the meantime
+			final CacheEntry existing = cache.getAndMoveToLast(soundResource);
+			if (existing != null)
+				return existing.url;
+			insert(soundResource, loaded);
+		}
+
+		return loaded.url;
+	}
+
+	/**
+	 * Loads the sound resource into the cache ahead of it being played. Entries
+	 * already present are left in their current position, and the hit/miss
+	 * statistics are not affected. Intended to be called from a background
+	 * thread.
+	 */
+	public static void preload(@Nonnull final ResourceLocation soundResource) {
+		if (isCached(soundResource))
+			return;
+
+		final CacheEntry loaded = loadEntry(soundResource);
+		if (loaded == null)
+			return;
+
+		synchronized (cache) {
+			if (!cache.containsKey(soundResource))
+				insert(soundResource, loaded);
+		}
+	}
+
+	/**
+	 * Indicates whether the cache has room for more data without having to evict
+	 * entries.
+	 */
+	public static boolean hasCapacity() {
+		synchronized (cache) {
+			return cacheBytes < maxCacheBytes();
+		}
+	}
+
+	/**
+	 * Indicates whether the sound resource is currently held by the cache.
+	 */
+	public static boolean isCached(@Nonnull final ResourceLocation soundResource) {
+		synchronized (cache) {
+			return cache.containsKey(soundResource);
+		}
+	}
+
+	/**
+	 * Drops all cached entries. Statistics are retained.
+	 */
+	public static void clear() {
+		synchronized (cache) {
+			cache.clear();
+			cacheBytes = 0;
+		}
+	}
+
+	@Nonnull
+	public static String getStatistics() {
+		synchronized (cache) {
+			return String.format("SoundCache: %d entries, %dK/%dK, hit %d, miss %d, evict %d", cache.size(),
+					cacheBytes / 1024, maxCacheBytes() / 1024, hits, misses, evictions);
+		}
 	}
 
 }
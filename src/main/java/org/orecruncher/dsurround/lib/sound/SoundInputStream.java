@@ -49,6 +49,26 @@ public class SoundInputStream extends InputStream {
 		}
 	}
 
+	@Override
+	public int read(@Nonnull final byte[] b, final int off, final int len) throws IOException {
+		// Bulk path used by the OGG decoder. Going through the single byte read()
+		// costs a virtual call plus exception frame per byte.
+		try {
+			return this.stream.read(b, off, len);
+		} catch (@Nonnull final Throwable t) {
+			return -1;
+		}
+	}
+
+	@Override
+	public long skip(final long n) throws IOException {
+		try {
+			return this.stream.skip(n);
+		} catch (@Nonnull final Throwable t) {
+			return 0;
+		}
+	}
+
 	@Override
 	public int available() throws IOException {
 		try {
@@ -68,6 +68,8 @@ public final class Network {
 				Side.CLIENT);
 		NETWORK.registerMessage(PacketPlaySound.PacketHandler.class, PacketPlaySound.class, ++discriminator,
 				Side.CLIENT);
+		NETWORK.registerMessage(PacketEntityDataBatch.PacketHandler.class, PacketEntityDataBatch.class,
+				++discriminator, Side.CLIENT);
 
 		// Client -> Server messages
 		NETWORK.registerMessage(PacketPlaySound.PacketHandlerServer.class, PacketPlaySound.class, ++discriminator,
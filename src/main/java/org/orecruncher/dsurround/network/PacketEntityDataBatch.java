@@ -0,0 +1,126 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.network;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.dsurround.ModBase;
+import org.orecruncher.dsurround.capabilities.CapabilityEntityData;
+import org.orecruncher.dsurround.capabilities.entitydata.IEntityData;
+import org.orecruncher.dsurround.capabilities.entitydata.IEntityDataSettable;
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.lib.WorldUtils;
+
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.entity.Entity;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+/**
+ * Carries the entity data changes of a single server tick for one player.
+ * Each entry is a varint entity ID followed by a byte of packed flags.
+ */
+public class PacketEntityDataBatch implements IMessage {
+
+	private static final int MAX_VARINT_SIZE = 5;
+	private static final int FLAG_ATTACKING = 1;
+	private static final int FLAG_FLEEING = 2;
+
+	private IntArrayList entityIds;
+	private ByteArrayList flags;
+
+	public PacketEntityDataBatch() {
+
+	}
+
+	public PacketEntityDataBatch(final int expectedSize) {
+		this.entityIds = new IntArrayList(expectedSize);
+		this.flags = new ByteArrayList(expectedSize);
+	}
+
+	public void add(@Nonnull final IEntityData data) {
+		int f = 0;
+		if (data.isAttacking())
+			f |= FLAG_ATTACKING;
+		if (data.isFleeing())
+			f |= FLAG_FLEEING;
+		this.entityIds.add(data.getEntityId());
+		this.flags.add((byte) f);
+	}
+
+	public boolean isEmpty() {
+		return this.entityIds.isEmpty();
+	}
+
+	@Override
+	public void fromBytes(@Nonnull final ByteBuf buf) {
+		final int count = ByteBufUtils.readVarInt(buf, MAX_VARINT_SIZE);
+		this.entityIds = new IntArrayList(count);
+		this.flags = new ByteArrayList(count);
+		for (int i = 0; i < count; i++) {
+			this.entityIds.add(ByteBufUtils.readVarInt(buf, MAX_VARINT_SIZE));
+			this.flags.add(buf.readByte());
+		}
+	}
+
+	@Override
+	public void toBytes(@Nonnull final ByteBuf buf) {
+		final int count = this.entityIds.size();
+		ByteBufUtils.writeVarInt(buf, count, MAX_VARINT_SIZE);
+		for (int i = 0; i < count; i++) {
+			ByteBufUtils.writeVarInt(buf, this.entityIds.getInt(i), MAX_VARINT_SIZE);
+			buf.writeByte(this.flags.getByte(i));
+		}
+	}
+
+	public static class PacketHandler implements IMessageHandler<PacketEntityDataBatch, IMessage> {
+		@Override
+		@Nullable
+		public IMessage onMessage(@Nonnull final PacketEntityDataBatch message, @Nullable final MessageContext ctx) {
+			ModBase.proxy().getThreadListener(ctx).addScheduledTask(() -> {
+				for (int i = 0; i < message.entityIds.size(); i++) {
+					final Entity entity = WorldUtils.locateEntity(EnvironState.getWorld(),
+							message.entityIds.getInt(i));
+					if (entity != null) {
+						final IEntityDataSettable data = (IEntityDataSettable) CapabilityEntityData
+								.getCapability(entity);
+						if (data != null) {
+							final byte f = message.flags.getByte(i);
+							data.setAttacking((f & FLAG_ATTACKING) != 0);
+							data.setFleeing((f & FLAG_FLEEING) != 0);
+						}
+					}
+				}
+			});
+			return null;
+		}
+	}
+
+}
@@ -36,12 +36,12 @@ import org.orecruncher.dsurround.capabilities.season.TemperatureRating;
 import org.orecruncher.dsurround.client.ClientRegistry;
 import org.orecruncher.dsurround.client.handlers.BiomeSoundEffectsHandler;
 import org.orecruncher.dsurround.client.sound.SoundEffect;
+import org.orecruncher.dsurround.lib.random.ConditionalAliasTable;
 import org.orecruncher.dsurround.registry.config.BiomeConfig;
 import org.orecruncher.dsurround.registry.config.SoundConfig;
 import org.orecruncher.dsurround.registry.config.SoundType;
 import org.orecruncher.lib.Color;
 import org.orecruncher.lib.MyUtils;
-import org.orecruncher.lib.WeightTable;
 import org.orecruncher.lib.collections.ObjectArray;
 
 import com.google.common.collect.Lists;
@@ -78,6 +78,8 @@ public final class BiomeInfo extends BiomeData implements Comparable<BiomeInfo>
 
 	protected SoundEffect[] sounds = NO_SOUNDS;
 	protected SoundEffect[] spotSounds = NO_SOUNDS;
+	// Built on first use and dropped whenever the spot sound list changes
+	protected ConditionalAliasTable<SoundEffect> spotSoundTable;
 	protected int spotSoundChance = DEFAULT_SPOT_CHANCE;
 
 	protected final List<String> comments = Lists.newArrayList();
@@ -231,6 +233,7 @@ public final class BiomeInfo extends BiomeData implements Comparable<BiomeInfo>
 
 	void addSpotSound(final SoundEffect sound) {
 		this.spotSounds = MyUtils.append(this.spotSounds, sound);
+		this.spotSoundTable = null;
 	}
 
 	public boolean isFake() {
@@ -278,14 +281,27 @@ public final class BiomeInfo extends BiomeData implements Comparable<BiomeInfo>
 
 	@Nullable
 	public SoundEffect getSpotSound(@Nonnull final Random random) {
-		return this.spotSounds != NO_SOUNDS && random.nextInt(this.spotSoundChance) == 0
-				? new WeightTable<>(this.spotSounds).next()
-				: null;
+		if (this.spotSounds == NO_SOUNDS || random.nextInt(this.spotSoundChance) != 0)
+			return null;
+		if (this.spotSoundTable == null)
+			this.spotSoundTable = new ConditionalAliasTable<>(this.spotSounds);
+		return this.spotSoundTable.next(random);
+	}
+
+	@Nonnull
+	public SoundEffect[] getSounds() {
+		return this.sounds;
+	}
+
+	@Nonnull
+	public SoundEffect[] getSpotSounds() {
+		return this.spotSounds;
 	}
 
 	void resetSounds() {
 		this.sounds = NO_SOUNDS;
 		this.spotSounds = NO_SOUNDS;
+		this.spotSoundTable = null;
 		this.spotSoundChance = DEFAULT_SPOT_CHANCE;
 	}
 
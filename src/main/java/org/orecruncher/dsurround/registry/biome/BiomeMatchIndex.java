@@ -0,0 +1,287 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.registry.biome;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.dsurround.registry.config.BiomeConfig;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.BiomeDictionary;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Resolves the conditions of BiomeConfig entries against the registered
+ * biomes. Conditions made up only of biome name/id/modid comparisons, ONEOF,
+ * MATCH, dictionary types and the logical operators are answered with set
+ * operations on indexes built once per reload. Anything else is evaluated per
+ * biome by a BiomeMatcher, in parallel over the biome list.
+ */
+@SideOnly(Side.CLIENT)
+final class BiomeMatchIndex {
+
+	private static final Object PARAMS = new Object();
+
+	private static final String NAME = "biome.name";
+	private static final String ID = "biome.id";
+	private static final String MODID = "biome.modid";
+	private static final String FAKE = "biome.isfake";
+
+	// A string literal from the script
+	private static final class Literal {
+		public final String value;
+
+		public Literal(@Nonnull final String value) {
+			this.value = value;
+		}
+	}
+
+	private final List<BiomeInfo> biomes;
+	private final BitSet all = new BitSet();
+	private final BitSet fakes = new BitSet();
+	// Keyed by lower case variable name since script variables are case
+	// insensitive
+	private final Map<String, BitSet> types = new Object2ObjectOpenHashMap<>();
+	private final Map<String, Map<String, BitSet>> keys = new Object2ObjectOpenHashMap<>();
+
+	BiomeMatchIndex(@Nonnull final List<BiomeInfo> biomes) {
+		this.biomes = biomes;
+		this.all.set(0, biomes.size());
+
+		for (final BiomeDictionary.Type t : BiomeUtil.getBiomeTypes())
+			this.types.put(("biome.is" + t.getName()).toLowerCase(Locale.ROOT), new BitSet());
+		this.keys.put(NAME, new Object2ObjectOpenHashMap<>());
+		this.keys.put(ID, new Object2ObjectOpenHashMap<>());
+		this.keys.put(MODID, new Object2ObjectOpenHashMap<>());
+
+		for (int i = 0; i < biomes.size(); i++) {
+			final BiomeInfo info = biomes.get(i);
+			if (info.isFake())
+				this.fakes.set(i);
+			for (final BiomeDictionary.Type t : info.getBiomeTypes()) {
+				final BitSet set = this.types.get(("biome.is" + t.getName()).toLowerCase(Locale.ROOT));
+				if (set != null)
+					set.set(i);
+			}
+			index(NAME, info.getBiomeName(), i);
+			final ResourceLocation key = info.getKey();
+			if (key != null) {
+				index(ID, key.toString(), i);
+				index(MODID, key.getNamespace(), i);
+			}
+		}
+	}
+
+	private void index(@Nonnull final String variable, @Nullable final String value, final int idx) {
+		if (value != null)
+			this.keys.get(variable).computeIfAbsent(value, k -> new BitSet()).set(idx);
+	}
+
+	/**
+	 * Returns the biomes matching the conditions of the entry, in the order of
+	 * the biome list.
+	 */
+	@Nonnull
+	public List<BiomeInfo> match(@Nonnull final BiomeConfig entry) {
+		// Creating the matcher up front keeps the handling of bad scripts the
+		// same as evaluating it directly
+		final BiomeMatcher matcher = BiomeMatcher.getMatcher(entry);
+
+		final BitSet set = resolve(matcher.getRPN());
+		final List<BiomeInfo> result = new ArrayList<>();
+		if (set != null) {
+			for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1))
+				result.add(this.biomes.get(i));
+		} else {
+			// A matcher holds the biome being evaluated so each thread needs its own
+			final ThreadLocal<BiomeMatcher> matchers = ThreadLocal.withInitial(() -> BiomeMatcher.getMatcher(entry));
+			final int[] hits = IntStream.range(0, this.biomes.size()).parallel()
+					.filter(i -> matchers.get().match(this.biomes.get(i))).toArray();
+			for (final int i : hits)
+				result.add(this.biomes.get(i));
+		}
+		return result;
+	}
+
+	// Evaluates the script RPN as set operations over the biome list. Returns
+	// null if the script uses something that isn't indexed.
+	@Nullable
+	private BitSet resolve(@Nullable final List<String> rpn) {
+		if (rpn == null)
+			return null;
+
+		try {
+			final Deque<Object> stack = new ArrayDeque<>();
+			for (final String token : rpn) {
+				switch (token) {
+				case "(":
+					stack.push(PARAMS);
+					break;
+				case "!": {
+					final BitSet operand = set(stack.pop());
+					if (operand == null)
+						return null;
+					final BitSet result = (BitSet) this.all.clone();
+					result.andNot(operand);
+					stack.push(result);
+					break;
+				}
+				case "&&":
+				case "||": {
+					final BitSet right = set(stack.pop());
+					final BitSet left = set(stack.pop());
+					if (left == null || right == null)
+						return null;
+					final BitSet result = (BitSet) left.clone();
+					if ("&&".equals(token))
+						result.and(right);
+					else
+						result.or(right);
+					stack.push(result);
+					break;
+				}
+				case "=":
+				case "==":
+				case "!=":
+				case "<>": {
+					final Object right = stack.pop();
+					final Object left = stack.pop();
+					BitSet result = null;
+					if (left instanceof String && right instanceof Literal)
+						result = lookup((String) left, ((Literal) right).value);
+					else if (left instanceof Literal && right instanceof String)
+						result = lookup((String) right, ((Literal) left).value);
+					if (result == null)
+						return null;
+					if ("!=".equals(token) || "<>".equals(token)) {
+						final BitSet complement = (BitSet) this.all.clone();
+						complement.andNot(result);
+						result = complement;
+					}
+					stack.push(result);
+					break;
+				}
+				default:
+					final Object operand = operand(token, stack);
+					if (operand == null)
+						return null;
+					stack.push(operand);
+					break;
+				}
+			}
+			return stack.size() == 1 ? set(stack.pop()) : null;
+		} catch (final Throwable t) {
+			// Malformed in some way so leave it to the matcher
+			return null;
+		}
+	}
+
+	// Resolves a variable, literal or function call. Key variables are pushed as
+	// their lower case name so the comparison operators can find the index.
+	@Nullable
+	private Object operand(@Nonnull final String token, @Nonnull final Deque<Object> stack) {
+		if (token.charAt(0) == '\'')
+			return new Literal(token.substring(1, token.length() - 1));
+
+		final String lower = token.toLowerCase(Locale.ROOT);
+		if (this.keys.containsKey(lower))
+			return lower;
+		if (FAKE.equals(lower))
+			return this.fakes;
+		final BitSet type = this.types.get(lower);
+		if (type != null)
+			return type;
+		if ("true".equals(lower))
+			return this.all;
+		if ("false".equals(lower))
+			return new BitSet();
+
+		if ("oneof".equals(lower) || "match".equals(lower)) {
+			final Deque<Object> params = new ArrayDeque<>();
+			Object p;
+			while ((p = stack.pop()) != PARAMS)
+				params.push(p);
+			return "oneof".equals(lower) ? oneOf(params) : match(params);
+		}
+
+		return null;
+	}
+
+	// ONEOF(key, 'a', 'b', ...)
+	@Nullable
+	private BitSet oneOf(@Nonnull final Deque<Object> params) {
+		if (params.size() < 2 || !(params.peekFirst() instanceof String))
+			return null;
+		final String variable = (String) params.pollFirst();
+		final BitSet result = new BitSet();
+		for (final Object p : params) {
+			if (!(p instanceof Literal))
+				return null;
+			result.or(lookup(variable, ((Literal) p).value));
+		}
+		return result;
+	}
+
+	// MATCH('regex', key)
+	@Nullable
+	private BitSet match(@Nonnull final Deque<Object> params) {
+		if (params.size() != 2)
+			return null;
+		final Object regex = params.pollFirst();
+		final Object variable = params.pollFirst();
+		if (!(regex instanceof Literal) || !(variable instanceof String))
+			return null;
+		final Pattern pattern = Pattern.compile(((Literal) regex).value);
+		final BitSet result = new BitSet();
+		for (final Map.Entry<String, BitSet> e : this.keys.get(variable).entrySet())
+			if (pattern.matcher(e.getKey()).matches())
+				result.or(e.getValue());
+		return result;
+	}
+
+	@Nonnull
+	private BitSet lookup(@Nonnull final String variable, @Nonnull final String value) {
+		final BitSet result = this.keys.get(variable).get(value);
+		return result != null ? result : new BitSet();
+	}
+
+	@Nullable
+	private static BitSet set(@Nonnull final Object o) {
+		return o instanceof BitSet ? (BitSet) o : null;
+	}
+}
@@ -23,9 +23,11 @@
 
 package org.orecruncher.dsurround.registry.biome;
 
+import java.util.List;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.orecruncher.dsurround.registry.config.BiomeConfig;
 import org.orecruncher.lib.expression.BooleanValue;
@@ -48,6 +50,13 @@ public abstract class BiomeMatcher {
 
 	public abstract boolean match(@Nonnull final BiomeInfo info);
 
+	// The parsed form of the condition, used by BiomeMatchIndex to find out
+	// whether it can be answered from its indexes
+	@Nullable
+	List<String> getRPN() {
+		return null;
+	}
+
 	public static BiomeMatcher getMatcher(@Nonnull final BiomeConfig cfg) {
 		if (cfg.conditions == null)
 			cfg.conditions = "";
@@ -269,6 +278,11 @@ public abstract class BiomeMatcher {
 
 		}
 
+		@Override
+		List<String> getRPN() {
+			return this.exp.getRPN();
+		}
+
 		@Override
 		public boolean match(@Nonnull final BiomeInfo info) {
 			this.current = info;
@@ -26,6 +26,7 @@ package org.orecruncher.dsurround.registry.biome;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -90,6 +91,8 @@ public final class BiomeRegistry extends Registry {
 
 	private final Map<String, String> biomeAliases = new Object2ObjectOpenHashMap<>();
 	private final ObjectOpenHashSet<FakeBiome> theFakes = new ObjectOpenHashSet<>();
+	// Built on first use after init() and dropped once configuration completes
+	private BiomeMatchIndex matchIndex;
 
 	public BiomeRegistry(@Nonnull final Side side) {
 		super(side);
@@ -126,6 +129,7 @@ public final class BiomeRegistry extends Registry {
 	public void init() {
 		this.biomeAliases.clear();
 		this.theFakes.clear();
+		this.matchIndex = null;
 
 		for (final String entry : ModOptions.biomes.biomeAliases) {
 			final String[] parts = StringUtils.split(entry, "=");
@@ -168,10 +172,11 @@ public final class BiomeRegistry extends Registry {
 	@Override
 	public void configure(@Nonnull final ModConfiguration cfg) {
 		cfg.biomeAlias.forEach((alias, biome) -> registerBiomeAlias(alias, biome));
-		cfg.biomes.forEach(entry -> {
-			final BiomeMatcher matcher = BiomeMatcher.getMatcher(entry);
-			getCombinedStream().filter(i -> matcher.match(i)).forEach(i -> i.update(entry));
-		});
+		if (cfg.biomes.isEmpty())
+			return;
+		if (this.matchIndex == null)
+			this.matchIndex = new BiomeMatchIndex(getCombinedStream().collect(Collectors.toList()));
+		cfg.biomes.forEach(entry -> this.matchIndex.match(entry).forEach(i -> i.update(entry)));
 	}
 
 	@Override
@@ -183,6 +188,7 @@ public final class BiomeRegistry extends Registry {
 
 		// Free memory because we no longer need
 		this.biomeAliases.clear();
+		this.matchIndex = null;
 	}
 
 	@Nullable
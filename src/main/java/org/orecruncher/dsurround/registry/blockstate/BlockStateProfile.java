@@ -31,8 +31,8 @@ import javax.annotation.Nullable;
 
 import org.orecruncher.dsurround.client.fx.BlockEffect;
 import org.orecruncher.dsurround.client.sound.SoundEffect;
+import org.orecruncher.dsurround.lib.random.ConditionalAliasTable;
 import org.orecruncher.lib.MyUtils;
-import org.orecruncher.lib.WeightTable;
 
 import com.google.common.base.Joiner;
 
@@ -47,6 +47,8 @@ public class BlockStateProfile extends BlockStateData {
 
 	protected int chance = 100;
 	protected SoundEffect[] sounds = NO_SOUNDS;
+	// Built on first use and dropped whenever the sound list changes
+	protected ConditionalAliasTable<SoundEffect> soundTable;
 	protected BlockEffect[] effects = NO_EFFECTS;
 	protected BlockEffect[] alwaysOn = NO_EFFECTS;
 
@@ -63,12 +65,14 @@ public class BlockStateProfile extends BlockStateData {
 	@Nonnull
 	public BlockStateProfile addSound(@Nonnull final SoundEffect sound) {
 		this.sounds = MyUtils.append(this.sounds, sound);
+		this.soundTable = null;
 		return this;
 	}
 
 	@Nonnull
 	public BlockStateProfile clearSounds() {
 		this.sounds = NO_SOUNDS;
+		this.soundTable = null;
 		return this;
 	}
 
@@ -105,8 +109,11 @@ public class BlockStateProfile extends BlockStateData {
 
 	@Nullable
 	public SoundEffect getSoundToPlay(@Nonnull final Random random) {
-		return this.sounds != NO_SOUNDS && random.nextInt(getChance()) == 0 ? new WeightTable<>(this.sounds).next()
-				: null;
+		if (this.sounds == NO_SOUNDS || random.nextInt(getChance()) != 0)
+			return null;
+		if (this.soundTable == null)
+			this.soundTable = new ConditionalAliasTable<>(this.sounds);
+		return this.soundTable.next(random);
 	}
 
 	public boolean hasSoundsOrEffects() {
@@ -24,6 +24,8 @@
 
 package org.orecruncher.dsurround.registry.blockstate;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 import java.util.stream.StreamSupport;
 
@@ -44,6 +46,7 @@ import org.orecruncher.dsurround.registry.config.SoundConfig;
 import org.orecruncher.dsurround.registry.sound.SoundRegistry;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.SoundCategory;
@@ -58,6 +61,10 @@ public final class BlockStateRegistry extends Registry {
 
 	private Map<BlockStateMatcher, BlockStateProfile> registry;
 
+	// Resolved profiles indexed by Block.getStateId(). Profiles are per block so
+	// states that share an id always share a profile.
+	private BlockStateProfile[] profiles = new BlockStateProfile[0];
+
 	public BlockStateRegistry(@Nonnull final Side side) {
 		super(side);
 	}
@@ -65,11 +72,7 @@ public final class BlockStateRegistry extends Registry {
 	@Override
 	public void init() {
 		this.registry = new Object2ObjectOpenHashMap<>();
-
-		// Wipe out any cached data
-		StreamSupport.stream(ForgeRegistries.BLOCKS.spliterator(), false)
-				.map(block -> block.getBlockState().getValidStates()).flatMap(l -> l.stream())
-				.forEach(state -> BlockStateUtil.setStateData(state, null));
+		this.profiles = new BlockStateProfile[0];
 	}
 
 	@Override
@@ -78,16 +81,51 @@ public final class BlockStateRegistry extends Registry {
 			register(block);
 	}
 
+	@Override
+	public void initComplete() {
+		final int size = StreamSupport.stream(ForgeRegistries.BLOCKS.spliterator(), false)
+				.map(block -> block.getBlockState().getValidStates()).flatMap(l -> l.stream())
+				.mapToInt(Block::getStateId).max().orElse(-1) + 1;
+
+		this.profiles = new BlockStateProfile[size];
+		StreamSupport.stream(ForgeRegistries.BLOCKS.spliterator(), false)
+				.map(block -> block.getBlockState().getValidStates()).flatMap(l -> l.stream())
+				.forEach(state -> this.profiles[Block.getStateId(state)] = resolve(state));
+	}
+
 	@Nonnull
 	public BlockStateProfile get(@Nonnull final IBlockState state) {
-		BlockStateProfile profile = BlockStateUtil.getStateData(state);
-		if (profile == null) {
-			profile = this.registry.get(BlockStateMatcher.asGeneric(state));
-			if (profile == null)
-				profile = NO_PROFILE;
-			BlockStateUtil.setStateData(state, profile);
+		final int id = Block.getStateId(state);
+		final BlockStateProfile[] p = this.profiles;
+		if (id < p.length) {
+			final BlockStateProfile profile = p[id];
+			if (profile != null)
+				return profile;
 		}
-		return profile;
+		return cacheMiss(state, id);
+	}
+
+	@Nonnull
+	private BlockStateProfile cacheMiss(@Nonnull final IBlockState state, final int id) {
+		// State that was not around when the table was built
+		if (id >= this.profiles.length)
+			this.profiles = Arrays.copyOf(this.profiles, id + 1);
+		return this.profiles[id] = resolve(state);
+	}
+
+	@Nonnull
+	private BlockStateProfile resolve(@Nonnull final IBlockState state) {
+		final BlockStateProfile profile = this.registry.get(BlockStateMatcher.asGeneric(state));
+		return profile != null ? profile : NO_PROFILE;
+	}
+
+	/**
+	 * The profiles that have been configured. Does not include states that fall
+	 * back to the empty profile.
+	 */
+	@Nonnull
+	public Collection<BlockStateProfile> getProfiles() {
+		return this.registry.values();
 	}
 
 	@Nullable
@@ -0,0 +1,165 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.registry.config;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * On disk cache of the encoded configuration. The file is keyed by a hash of
+ * the mod version, the model schema and the name and content of every source,
+ * so any change to the inputs misses. Validation failures are kept alongside
+ * so their warnings can be repeated on a hit.
+ */
+final class ConfigCache {
+
+	private static final int CACHE_MAGIC = 0x44534346;
+	private static final int CACHE_VERSION = 3;
+
+	/**
+	 * Contents of a cache file that matched the requested key.
+	 */
+	public static final class Entry {
+		public final byte[] bits;
+		// Indexed by source; null where the source validated
+		public final String[] failures;
+
+		public Entry(@Nonnull final byte[] bits, @Nonnull final String[] failures) {
+			this.bits = bits;
+			this.failures = failures;
+		}
+	}
+
+	private ConfigCache() {
+
+	}
+
+	/**
+	 * Hashes the sources in merge order. Adding, removing, reordering or
+	 * editing any of them changes the key. A null content is a source that
+	 * could not be read.
+	 */
+	@Nonnull
+	public static byte[] key(@Nonnull final String version, @Nonnull final List<String> names,
+			@Nonnull final List<byte[]> contents) throws NoSuchAlgorithmException {
+		final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		digest.update(version.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(ConfigCodec.schema().getBytes(StandardCharsets.UTF_8));
+		for (int i = 0; i < names.size(); i++) {
+			digest.update((byte) 0);
+			digest.update(names.get(i).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			final byte[] raw = contents.get(i);
+			if (raw != null) {
+				digest.update(ByteBuffer.allocate(4).putInt(raw.length).array());
+				digest.update(raw);
+			}
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Returns the cached entry if the file was written for the same key and
+	 * number of sources, otherwise null.
+	 */
+	@Nullable
+	public static Entry read(@Nonnull final File file, @Nonnull final byte[] key, final int sourceCount)
+			throws IOException {
+		if (!file.exists())
+			return null;
+		try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != CACHE_MAGIC || in.readInt() != CACHE_VERSION)
+				return null;
+			final byte[] stored = new byte[in.readUnsignedShort()];
+			in.readFully(stored);
+			if (!Arrays.equals(key, stored))
+				return null;
+			final String[] failures = new String[sourceCount];
+			for (int i = in.readInt(); i > 0; i--) {
+				final int idx = in.readInt();
+				final String failure = in.readUTF();
+				if (idx < 0 || idx >= failures.length)
+					return null;
+				failures[idx] = failure;
+			}
+			final byte[] bits = new byte[in.readInt()];
+			in.readFully(bits);
+			return new Entry(bits, failures);
+		}
+	}
+
+	/**
+	 * Writes the entry through a temporary file so a partially written cache is
+	 * never picked up.
+	 */
+	public static void write(@Nonnull final File file, @Nonnull final byte[] key, @Nonnull final Entry entry)
+			throws IOException {
+		final File temp = new File(file.getPath() + ".tmp");
+		try {
+			try (final DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(temp)))) {
+				out.writeInt(CACHE_MAGIC);
+				out.writeInt(CACHE_VERSION);
+				out.writeShort(key.length);
+				out.write(key);
+				int failed = 0;
+				for (final String failure : entry.failures)
+					if (failure != null)
+						failed++;
+				out.writeInt(failed);
+				for (int i = 0; i < entry.failures.length; i++) {
+					if (entry.failures[i] != null) {
+						out.writeInt(i);
+						out.writeUTF(StringUtils.left(entry.failures[i], 4096));
+					}
+				}
+				out.writeInt(entry.bits.length);
+				out.write(entry.bits);
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			temp.delete();
+		}
+	}
+}
@@ -0,0 +1,247 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.registry.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Binary form of the ModConfiguration model. The model classes are plain
+ * holders of strings, boxed and primitive numbers, lists and string keyed
+ * maps, so they are walked reflectively: every public instance field is
+ * written in name order, and reading sets each field on a freshly constructed
+ * instance. Reading back is a straight pass over the bytes with none of the
+ * tokenizing and type resolution of a Json parse.
+ */
+final class ConfigCodec {
+
+	private static final Map<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+
+	private ConfigCodec() {
+
+	}
+
+	@Nonnull
+	private static Field[] fields(@Nonnull final Class<?> clazz) {
+		return FIELDS.computeIfAbsent(clazz, c -> {
+			final List<Field> result = new ArrayList<>();
+			for (final Field f : c.getFields()) {
+				final int mod = f.getModifiers();
+				if (!Modifier.isStatic(mod) && !Modifier.isTransient(mod))
+					result.add(f);
+			}
+			result.sort(Comparator.comparing(Field::getName));
+			return result.toArray(new Field[0]);
+		});
+	}
+
+	/**
+	 * Describes the shape of the model so a cache written by a build with
+	 * different model classes is not read back.
+	 */
+	@Nonnull
+	public static String schema() {
+		final StringBuilder builder = new StringBuilder();
+		describe(ModConfiguration.class, builder, new ArrayList<>());
+		return builder.toString();
+	}
+
+	private static void describe(@Nonnull final Type type, @Nonnull final StringBuilder builder,
+			@Nonnull final List<Class<?>> seen) {
+		builder.append(type.getTypeName()).append(';');
+		if (type instanceof ParameterizedType) {
+			for (final Type arg : ((ParameterizedType) type).getActualTypeArguments())
+				describe(arg, builder, seen);
+		} else if (type instanceof Class<?> && isModel((Class<?>) type) && !seen.contains(type)) {
+			seen.add((Class<?>) type);
+			builder.append('{');
+			for (final Field f : fields((Class<?>) type)) {
+				builder.append(f.getName()).append(':');
+				describe(f.getGenericType(), builder, seen);
+			}
+			builder.append('}');
+		}
+	}
+
+	private static boolean isModel(@Nonnull final Class<?> clazz) {
+		return !clazz.isPrimitive() && clazz != String.class && clazz != Boolean.class && clazz != Integer.class
+				&& clazz != Float.class;
+	}
+
+	/**
+	 * Encodes the configurations into the blob read back by MCFIterator, in
+	 * order. The encoding is already a fraction of the size of the Json so it is
+	 * not compressed further; that would only slow down every registry reload.
+	 */
+	@Nonnull
+	public static byte[] encode(@Nonnull final List<ModConfiguration> configs) throws IOException {
+		final ByteArrayOutputStream bits = new ByteArrayOutputStream(64 * 1024);
+		try (final DataOutputStream output = new DataOutputStream(bits)) {
+			output.writeInt(configs.size());
+			for (final ModConfiguration mcf : configs)
+				write(output, mcf);
+		}
+		return bits.toByteArray();
+	}
+
+	public static void write(@Nonnull final DataOutput out, @Nonnull final ModConfiguration config)
+			throws IOException {
+		write(out, ModConfiguration.class, config);
+	}
+
+	@Nonnull
+	public static ModConfiguration read(@Nonnull final DataInput in) throws IOException {
+		final ModConfiguration config = (ModConfiguration) read(in, ModConfiguration.class);
+		if (config == null)
+			throw new IOException("Null configuration in stream");
+		return config;
+	}
+
+	private static void write(@Nonnull final DataOutput out, @Nonnull final Type type, @Nullable final Object value)
+			throws IOException {
+		if (type == int.class) {
+			out.writeInt((Integer) value);
+		} else if (type == float.class) {
+			out.writeFloat((Float) value);
+		} else if (type == boolean.class) {
+			out.writeBoolean((Boolean) value);
+		} else {
+			out.writeBoolean(value != null);
+			if (value == null)
+				return;
+
+			if (type == String.class) {
+				final byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			} else if (type == Integer.class) {
+				out.writeInt((Integer) value);
+			} else if (type == Float.class) {
+				out.writeFloat((Float) value);
+			} else if (type == Boolean.class) {
+				out.writeBoolean((Boolean) value);
+			} else if (type instanceof ParameterizedType) {
+				final ParameterizedType pt = (ParameterizedType) type;
+				final Type[] args = pt.getActualTypeArguments();
+				if (pt.getRawType() == List.class) {
+					final List<?> list = (List<?>) value;
+					out.writeInt(list.size());
+					for (final Object e : list)
+						write(out, args[0], e);
+				} else if (pt.getRawType() == Map.class && args[0] == String.class) {
+					final Map<?, ?> map = (Map<?, ?>) value;
+					out.writeInt(map.size());
+					for (final Map.Entry<?, ?> e : map.entrySet()) {
+						write(out, String.class, e.getKey());
+						write(out, args[1], e.getValue());
+					}
+				} else {
+					throw new IOException("Unsupported configuration type " + type.getTypeName());
+				}
+			} else if (type instanceof Class<?>) {
+				try {
+					for (final Field f : fields((Class<?>) type))
+						write(out, f.getGenericType(), f.get(value));
+				} catch (@Nonnull final IllegalAccessException ex) {
+					throw new IOException(ex);
+				}
+			} else {
+				throw new IOException("Unsupported configuration type " + type.getTypeName());
+			}
+		}
+	}
+
+	@Nullable
+	private static Object read(@Nonnull final DataInput in, @Nonnull final Type type) throws IOException {
+		if (type == int.class)
+			return in.readInt();
+		if (type == float.class)
+			return in.readFloat();
+		if (type == boolean.class)
+			return in.readBoolean();
+
+		if (!in.readBoolean())
+			return null;
+
+		if (type == String.class) {
+			final byte[] bytes = new byte[in.readInt()];
+			in.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+		if (type == Integer.class)
+			return in.readInt();
+		if (type == Float.class)
+			return in.readFloat();
+		if (type == Boolean.class)
+			return in.readBoolean();
+
+		if (type instanceof ParameterizedType) {
+			final ParameterizedType pt = (ParameterizedType) type;
+			final Type[] args = pt.getActualTypeArguments();
+			final int size = in.readInt();
+			if (pt.getRawType() == List.class) {
+				final List<Object> list = new ArrayList<>(size);
+				for (int i = 0; i < size; i++)
+					list.add(read(in, args[0]));
+				return list;
+			}
+			if (pt.getRawType() == Map.class) {
+				final Map<String, Object> map = new LinkedHashMap<>(Math.max(16, size * 2));
+				for (int i = 0; i < size; i++) {
+					final String key = (String) read(in, String.class);
+					map.put(key, read(in, args[1]));
+				}
+				return map;
+			}
+		} else if (type instanceof Class<?>) {
+			try {
+				final Object result = ((Class<?>) type).newInstance();
+				for (final Field f : fields((Class<?>) type))
+					f.set(result, read(in, f.getGenericType()));
+				return result;
+			} catch (@Nonnull final ReflectiveOperationException ex) {
+				throw new IOException(ex);
+			}
+		}
+
+		throw new IOException("Unsupported configuration type " + type.getTypeName());
+	}
+}
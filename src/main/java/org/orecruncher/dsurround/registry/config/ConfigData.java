@@ -23,7 +23,6 @@
 
 package org.orecruncher.dsurround.registry.config;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -31,15 +30,18 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -52,10 +54,9 @@ import org.orecruncher.dsurround.data.Profiles.ProfileScript;
 import org.orecruncher.dsurround.registry.config.packs.IMyResourcePack;
 import org.orecruncher.dsurround.registry.config.packs.ResourcePacks;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
-import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.MalformedJsonException;
 
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.common.Loader;
@@ -63,14 +64,49 @@ import net.minecraftforge.fml.common.ModContainer;
 
 /**
  * Helper class that loads up the various configuration elements from JSON and
- * stores them in a compressed memory memory blob that can be iterated in
- * memory. Purpose is to retain the configuration data in a compact form to
- * allow quick resets of the Registries due to external events (like biome
- * changes on world load).
+ * stores them in a compact memory blob that can be iterated in memory.
+ * Purpose is to retain the configuration data in a compact form to allow quick
+ * resets of the Registries due to external events (like biome changes on world
+ * load). The blob holds the parsed model in the binary form of ConfigCodec so
+ * iterating it does not parse Json again. It is also written to a cache file
+ * keyed by a hash of every source; when the sources are unchanged on the next
+ * launch or reload the blob is read from the cache and no Json is parsed at
+ * all.
  */
 public final class ConfigData implements Iterable<ModConfiguration> {
 
-	// Holder of the compressed bytes containing our configuration
+	// Upper bound on the threads used to read and parse the sources
+	private static final int MAX_WORKERS = 4;
+
+	private static final Gson GSON = new Gson();
+
+	// Binary cache of the merged blob kept in the config directory
+	private static final String CACHE_FILE = "config.cache";
+
+	@FunctionalInterface
+	private interface IStreamOpener {
+		@Nullable
+		InputStream open() throws IOException;
+	}
+
+	// A Json configuration source along with the result of reading it
+	private static final class Source {
+
+		public final String name;
+		public final IStreamOpener opener;
+
+		public byte[] raw;
+		public ModConfiguration config;
+		public String failure;
+		public long nanos;
+
+		public Source(@Nonnull final String name, @Nonnull final IStreamOpener opener) {
+			this.name = name;
+			this.opener = opener;
+		}
+	}
+
+	// Holder of the encoded bytes containing our configuration
 	private final byte[] crunchyBits;
 
 	private ConfigData(@Nonnull final byte[] theBits) {
@@ -87,96 +123,85 @@ public final class ConfigData implements Iterable<ModConfiguration> {
 		return StreamSupport.stream(spliterator(), false);
 	}
 
-	// Injects a string into the array list. Used to put a marker that conveys
-	// information about
-	// the following Json object - which should be a ModConfiguration thing.
-	private static void injectString(@Nonnull final String txt, @Nonnull final OutputStreamWriter out) {
-		try {
-			out.write('"');
-			out.write(txt);
-			out.write("\",");
+	// Reads the raw bytes of a single source. Runs on one of the loader threads
+	// so it only touches the source it is handed.
+	@Nonnull
+	private static Source fetch(@Nonnull final Source source) {
+		final long start = System.nanoTime();
+		try (final InputStream stream = source.opener.open()) {
+			if (stream != null) {
+				final ByteArrayOutputStream out = new ByteArrayOutputStream();
+				final byte[] buffer = new byte[8192];
+				int count;
+				while ((count = stream.read(buffer)) != -1)
+					out.write(buffer, 0, count);
+				source.raw = out.toByteArray();
+			}
 		} catch (@Nonnull final Throwable t) {
-			ModBase.log().error("Really??", t);
+			ModBase.log().error(source.name, t);
 		}
+		source.nanos += System.nanoTime() - start;
+		return source;
 	}
 
-	// Does a simple comma append to the output stream.
-	protected static void appendComma(@Nonnull final OutputStreamWriter out) {
+	// Parses a source that has been fetched. Also runs on the loader threads.
+	@Nonnull
+	private static Source parse(@Nonnull final Source source) {
+		if (source.raw == null)
+			return source;
+		final long start = System.nanoTime();
 		try {
-			out.write(',');
+			final ModConfiguration mcf = GSON.fromJson(
+					new InputStreamReader(new ByteArrayInputStream(source.raw), StandardCharsets.UTF_8),
+					ModConfiguration.class);
+			if (mcf == null) {
+				source.failure = "No configuration found";
+				ModBase.log().warn("Json validation failed for %s: %s", source.name, source.failure);
+			} else {
+				mcf.source = source.name;
+				source.config = mcf;
+			}
+		} catch (@Nonnull final JsonSyntaxException vf) {
+			source.failure = String.valueOf(vf.getMessage());
+			ModBase.log().warn("Json validation failed for %s: %s", source.name, source.failure);
 		} catch (@Nonnull final Throwable t) {
-			ModBase.log().error("Really??", t);
+			source.failure = t.toString();
+			ModBase.log().error(source.name, t);
 		}
+		source.nanos += System.nanoTime() - start;
+		return source;
 	}
 
-	// Reads strings from the buffered reader, trims them, and outputs to the output
-	// writer if the length of the trimmed string is > 0. Used to compress a lot of
-	// the whitespace that can be found in a hand edited Json file.
-	protected static void copy(@Nonnull final BufferedReader reader, @Nonnull final OutputStreamWriter out) {
-		String line = null;
-		try {
-			while ((line = reader.readLine()) != null) {
-				final String s = line.trim();
-				if (!StringUtils.isEmpty(s))
-					out.write(s);
-			}
-		} catch (@Nonnull final IOException e) {
-			ModBase.log().error("Huh?", e);
-		}
+	private static boolean isLoaded(@Nonnull final Source source) {
+		return source.raw != null && source.failure == null;
 	}
 
-	// Copies the data from the input stream to the output stream. The text is
-	// injected before the write, and a comma is prepended if the flag
-	// indicates to do so.
-	protected static boolean copy(@Nonnull final InputStreamReader in, @Nonnull final OutputStreamWriter out,
-			@Nonnull final String text, final boolean comma) {
-		try {
-			try (final BufferedReader reader = new BufferedReader(in)) {
-				// This bit o crap will force the validation of the object
-				// in the stream.
-				try {
-					reader.mark(64 * 1024);
-					@SuppressWarnings({ "unused", "resource" })
-					final JsonReader r = new JsonReader(reader);
-					@SuppressWarnings("unused")
-					final ModConfiguration ref = new Gson().fromJson(reader, ModConfiguration.class);
-				} finally {
-					reader.reset();
-				}
+	// Runs the operation against each source on the pool and waits for all of
+	// them to finish.
+	private static void forEach(@Nonnull final ExecutorService pool, @Nonnull final List<Source> sources,
+			@Nonnull final Function<Source, Source> op) throws InterruptedException {
+		final List<Callable<Source>> tasks = new ArrayList<>(sources.size());
+		for (final Source source : sources)
+			tasks.add(() -> op.apply(source));
+		pool.invokeAll(tasks);
+	}
 
-				// Where the rubber meets the road
-				if (comma)
-					appendComma(out);
-				injectString(text, out);
-				copy(reader, out);
-				ModBase.log().debug("Loaded %s", text);
-				return true;
+	// Merges the parsed sources into the encoded blob, in source order.
+	@Nonnull
+	private static byte[] merge(@Nonnull final List<Source> sources) throws IOException {
+		final List<ModConfiguration> configs = new ArrayList<>(sources.size());
+		for (final Source source : sources) {
+			if (source.config != null) {
+				configs.add(source.config);
+				ModBase.log().debug("Loaded %s", source.name);
 			}
-		} catch (@Nonnull final JsonSyntaxException | MalformedJsonException vf) {
-			ModBase.log().warn("Json validation failed for %s: %s", text, vf.getMessage());
-		} catch (@Nonnull final Throwable t) {
-			ModBase.log().error(text, t);
 		}
-		return comma;
+		return ConfigCodec.encode(configs);
 	}
 
-	// Copies the specified resource from the given pack to the output location.
-	// Essentially it will be reading config Json information from resource
-	// packs and jars.
-	protected static boolean copy(@Nonnull final IMyResourcePack p, @Nonnull ResourceLocation rl,
-			@Nonnull final OutputStreamWriter output, @Nullable String text, final boolean comma) {
-		try (final InputStream is = p.getInputStream(rl)) {
-			if (is != null) {
-				try (final InputStreamReader stream = new InputStreamReader(is)) {
-					return copy(stream, output, text, comma);
-				} catch (@Nonnull final Throwable t) {
-					ModBase.log().error(rl.toString(), t);
-				}
-			}
-		} catch (@Nonnull final Throwable t) {
-			ModBase.log().error(rl.toString(), t);
-		}
-		return comma;
+	@Nonnull
+	private static File getCacheFile() {
+		return new File(ModBase.dataDirectory(), CACHE_FILE);
 	}
 
 	@Nonnull
@@ -185,80 +210,122 @@ public final class ConfigData implements Iterable<ModConfiguration> {
 		return new File(ModBase.dataDirectory(), workingFile);
 	}
 
-	public static ConfigData load() {
+	// Collects the configuration sources in the order they are to be merged.
+	// Nothing is read at this point.
+	@Nonnull
+	private static List<Source> findSources() {
+		final List<Source> sources = new ArrayList<>();
+
+		// Collect the locations where DS data is configured
+		final List<IMyResourcePack> packs = ResourcePacks.findResourcePacks();
+		final List<ModContainer> activeMods = Loader.instance().getActiveModList();
+
+		// Process the mod config from each of our packs. This includes the regular
+		// files from the dsurround jar.
+		for (final ModContainer mod : activeMods) {
+			final ResourceLocation rl = new ResourceLocation(ModBase.MOD_ID,
+					"data/" + mod.getModId().toLowerCase() + ".json");
+			for (final IMyResourcePack p : packs) {
+				if (p.resourceExists(rl))
+					sources.add(new Source("[" + rl.toString() + "] from [" + p.getModName() + "]",
+							() -> p.getInputStream(rl)));
+			}
+		}
 
-		final ByteArrayOutputStream bits = new ByteArrayOutputStream();
+		// Get config data from our JAR.
+		final ResourceLocation rl = ResourcePacks.CONFIGURE_RESOURCE;
+		for (final IMyResourcePack p : packs) {
+			if (p.resourceExists(rl))
+				sources.add(new Source("[" + rl.toString() + "] from [" + p.getModName() + "]",
+						() -> p.getInputStream(rl)));
+		}
 
-		try (final OutputStreamWriter output = new OutputStreamWriter(new GZIPOutputStream(bits))) {
+		// Built in toggle profiles for turning feature sets on/off
+		for (final ProfileScript script : Profiles.getProfileStreams())
+			sources.add(new Source(script.packName, () -> script.stream));
 
-			// We are writing a Json array of objects so start with the open
-			output.write("[");
+		// Load scripts specified in the configuration file from disk. Usually supplied
+		// by players or pack makers.
+		for (final String cfg : ModOptions.general.externalScriptFiles) {
+			final File file = getFileReference(cfg);
+			if (file.exists())
+				sources.add(new Source(cfg, () -> new FileInputStream(file)));
+		}
 
-			boolean prependComma = false;
+		return sources;
+	}
 
-			// Collect the locations where DS data is configured
-			final List<IMyResourcePack> packs = ResourcePacks.findResourcePacks();
-			final List<ModContainer> activeMods = Loader.instance().getActiveModList();
+	public static ConfigData load() {
 
-			// Process the mod config from each of our packs. This includes the regular
-			// files from the dsurround jar.
-			for (final ModContainer mod : activeMods) {
-				final ResourceLocation rl = new ResourceLocation(ModBase.MOD_ID,
-						"data/" + mod.getModId().toLowerCase() + ".json");
-				for (final IMyResourcePack p : packs) {
-					if (p.resourceExists(rl))
-						prependComma = copy(p, rl, output, "[" + rl.toString() + "] from [" + p.getModName() + "]",
-								prependComma);
-				}
-			}
+		final long start = System.nanoTime();
+		final List<Source> sources = findSources();
 
-			// Get config data from our JAR.
-			final ResourceLocation rl = ResourcePacks.CONFIGURE_RESOURCE;
-			for (final IMyResourcePack p : packs) {
-				if (p.resourceExists(rl))
-					prependComma = copy(p, rl, output, "[" + rl.toString() + "] from [" + p.getModName() + "]",
-							prependComma);
-			}
+		// Sources are fetched and parsed concurrently. Results are kept on the
+		// sources themselves so the merge stays in source order.
+		final int threads = Math.max(1,
+				Math.min(MAX_WORKERS, Math.min(sources.size(), Runtime.getRuntime().availableProcessors())));
+		final ExecutorService pool = Executors.newFixedThreadPool(threads,
+				new ThreadFactoryBuilder().setNameFormat("dsurround-config-%d").setDaemon(true).build());
 
-			// Built in toggle profiles for turning feature sets on/off
-			final List<ProfileScript> resources = Profiles.getProfileStreams();
-			for (final ProfileScript script : resources) {
-				try (final InputStreamReader reader = new InputStreamReader(script.stream)) {
-					prependComma = copy(reader, output, script.packName, prependComma);
-				} catch (@Nonnull final Throwable t) {
-					ModBase.log().error("Error reading profile script", t);
-				}
+		byte[] bits = null;
+		boolean cached = false;
+		try {
+			forEach(pool, sources, ConfigData::fetch);
+
+			final List<String> names = new ArrayList<>(sources.size());
+			final List<byte[]> contents = new ArrayList<>(sources.size());
+			for (final Source source : sources) {
+				names.add(source.name);
+				contents.add(source.raw);
+			}
+			final byte[] key = ConfigCache.key(ModBase.VERSION, names, contents);
+			final File cacheFile = getCacheFile();
+
+			// If nothing changed since the cache was written the encoded model is
+			// used as is and none of the Json is parsed.
+			ConfigCache.Entry entry = null;
+			try {
+				entry = ConfigCache.read(cacheFile, key, sources.size());
+			} catch (@Nonnull final Throwable t) {
+				ModBase.log().warn("Unable to read configuration cache: %s", t.getMessage());
 			}
 
-			// Load scripts specified in the configuration file from disk. Usually supplied
-			// by players or pack makers.
-			for (final String cfg : ModOptions.general.externalScriptFiles) {
-				final File file = getFileReference(cfg);
-				if (file.exists()) {
-					try (final InputStream stream = new FileInputStream(file)) {
-						try (final InputStreamReader input = new InputStreamReader(stream)) {
-							prependComma = copy(input, output, cfg, prependComma);
-						} catch (final Throwable t) {
-							ModBase.log().error("Really??", t);
-						}
-					} catch (final Throwable t) {
-						ModBase.log().error("Really??", t);
-					}
+			cached = entry != null;
+			if (cached) {
+				for (int i = 0; i < sources.size(); i++) {
+					final Source source = sources.get(i);
+					source.failure = entry.failures[i];
+					if (source.failure != null)
+						ModBase.log().warn("Json validation failed for %s: %s", source.name, source.failure);
+				}
+				bits = entry.bits;
+			} else {
+				forEach(pool, sources, ConfigData::parse);
+				bits = merge(sources);
+				final String[] failures = new String[sources.size()];
+				for (int i = 0; i < failures.length; i++)
+					failures[i] = sources.get(i).failure;
+				try {
+					ConfigCache.write(cacheFile, key, new ConfigCache.Entry(bits, failures));
+				} catch (@Nonnull final Throwable t) {
+					ModBase.log().warn("Unable to write configuration cache: %s", t.getMessage());
 				}
 			}
-
-			// The tap - need to close out the json array and flush
-			// the stream to make sure.
-			output.write("]");
-			output.flush();
-
 		} catch (@Nonnull final Throwable t) {
 			ModBase.log().error("Something went horribly wrong", t);
+		} finally {
+			pool.shutdown();
 		}
 
-		// dump(bits.toByteArray());
+		// Let pack authors see which of the sources dominate load time
+		ModBase.log().info("Read %d configuration sources in %dms using %d threads (%s)", sources.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), threads,
+				cached ? "cache hit" : "cache miss");
+		for (final Source source : sources)
+			ModBase.log().info("  %7.2fms %s%s", source.nanos / 1000000D, source.name,
+					isLoaded(source) ? "" : " (not loaded)");
 
-		return new ConfigData(bits.toByteArray());
+		return new ConfigData(bits != null ? bits : new byte[0]);
 	}
 
 	@Override
@@ -282,22 +349,4 @@ public final class ConfigData implements Iterable<ModConfiguration> {
 		}
 	}
 
-	protected static void dump(@Nonnull final byte[] demBytes) {
-
-		try {
-			String line = null;
-
-			try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(
-					new GZIPInputStream(new ByteArrayInputStream(demBytes)), StandardCharsets.UTF_8))) {
-				while ((line = bufferedReader.readLine()) != null) {
-					ModBase.log().info(line);
-				}
-			}
-
-		} catch (@Nonnull final Throwable t) {
-			ModBase.log().error("Error dumping bytes!", t);
-		}
-
-	}
-
 }
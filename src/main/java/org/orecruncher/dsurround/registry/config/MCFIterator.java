@@ -25,66 +25,54 @@ package org.orecruncher.dsurround.registry.config;
 
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
+import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.Iterator;
-import java.util.zip.GZIPInputStream;
+import java.util.NoSuchElementException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import org.orecruncher.dsurround.ModBase;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonIOException;
-import com.google.gson.JsonSyntaxException;
-import com.google.gson.stream.JsonReader;
-
 /**
- * Iterator that traverses the compressed memory block that contains all the
- * cached Json config files for the session.
+ * Iterator that traverses the memory block that contains all the encoded
+ * config files for the session. Each call to next() decodes a fresh
+ * ModConfiguration so callers are free to modify what they are handed.
  */
 class MCFIterator implements Iterator<ModConfiguration>, Closeable {
 
-	private final Gson gson;
-	private final JsonReader reader;
+	private final DataInputStream input;
+	private int remaining;
 
 	protected MCFIterator(@Nonnull final byte[] bits) throws IOException {
-		this.gson = new GsonBuilder().create();
-		this.reader = new JsonReader(new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(bits))));
-		this.reader.beginArray();
+		this.input = new DataInputStream(new ByteArrayInputStream(bits));
+		this.remaining = this.input.readInt();
 	}
 
 	@Override
 	public boolean hasNext() {
-		try {
-			return this.reader.hasNext();
-		} catch (@Nonnull final IOException ex) {
-			ModBase.log().error("Unable to read from memory!", ex);
-		}
-		return false;
+		return this.remaining > 0;
 	}
 
 	@Override
 	@Nullable
 	public ModConfiguration next() {
-		String source = null;
+		if (this.remaining <= 0)
+			throw new NoSuchElementException();
+		this.remaining--;
 		try {
-			// Should be a string followed by our Json object
-			source = this.gson.fromJson(this.reader, String.class);
-			final ModConfiguration mcf = this.gson.fromJson(this.reader, ModConfiguration.class);
-			mcf.source = source;
-			return mcf;
-		} catch (@Nonnull final JsonSyntaxException | JsonIOException ex) {
-			ModBase.log().error(source != null ? source : "Unable to parse Json from memory!", ex);
+			return ConfigCodec.read(this.input);
+		} catch (@Nonnull final IOException ex) {
+			ModBase.log().error("Unable to decode configuration from memory!", ex);
+			this.remaining = 0;
 			return null;
 		}
 	}
 
 	@Override
 	public void close() throws IOException {
-		this.reader.close();
+		this.input.close();
 	}
 
 }
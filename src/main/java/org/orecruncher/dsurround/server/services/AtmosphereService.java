@@ -32,10 +32,13 @@ import org.orecruncher.dsurround.capabilities.CapabilityDimensionInfo;
 import org.orecruncher.dsurround.lib.compat.ModEnvironment;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.world.World;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 import net.minecraftforge.fml.relauncher.Side;
@@ -52,6 +55,25 @@ public final class AtmosphereService extends Service {
 			getGenerator(event.world).update();
 	}
 
+	/*
+	 * A player arriving in a dimension needs the current weather state right away
+	 * rather than waiting for the next change or keepalive.
+	 */
+	@SubscribeEvent
+	public void playerLogin(@Nonnull final PlayerEvent.PlayerLoggedInEvent event) {
+		sendWeather(event.player);
+	}
+
+	@SubscribeEvent
+	public void playerChangedDimension(@Nonnull final PlayerEvent.PlayerChangedDimensionEvent event) {
+		sendWeather(event.player);
+	}
+
+	private void sendWeather(@Nonnull final EntityPlayer player) {
+		if (player instanceof EntityPlayerMP && !player.world.isRemote)
+			getGenerator(player.world).sendUpdate((EntityPlayerMP) player);
+	}
+
 	@SubscribeEvent(priority = EventPriority.LOWEST)
 	public void onWorldLoad(final WorldEvent.Load e) {
 		final World world = e.getWorld();
@@ -0,0 +1,121 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.server.services;
+
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.capabilities.CapabilityEntityData;
+import org.orecruncher.dsurround.capabilities.entitydata.IEntityData;
+import org.orecruncher.dsurround.network.Network;
+import org.orecruncher.dsurround.network.PacketEntityData;
+import org.orecruncher.dsurround.network.PacketEntityDataBatch;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+
+/**
+ * Collects entity data changes during a server tick and sends one batch packet
+ * per tracking player at the end of the tick. An entity that changes several
+ * times within a tick is only sent once with its final state.
+ */
+public final class EntityDataService extends Service {
+
+	// Only accessed from the server thread
+	private static final Set<Entity> pending = new ReferenceLinkedOpenHashSet<>();
+	private static boolean active;
+
+	private final Map<EntityPlayerMP, PacketEntityDataBatch> batches = new Reference2ObjectOpenHashMap<>();
+
+	EntityDataService() {
+		super("EntityDataService");
+	}
+
+	/**
+	 * Queues the entity to have its data sent to tracking players at the end of
+	 * the current server tick. If the service is not running the data is sent
+	 * immediately.
+	 */
+	public static void queueSync(@Nonnull final Entity entity) {
+		if (active) {
+			pending.add(entity);
+		} else {
+			final IEntityData data = CapabilityEntityData.getCapability(entity);
+			if (data != null)
+				Network.sendToEntityViewers(entity, new PacketEntityData(data));
+		}
+	}
+
+	@Override
+	public void init() {
+		pending.clear();
+		active = true;
+	}
+
+	@Override
+	public void fini() {
+		active = false;
+		pending.clear();
+	}
+
+	@SubscribeEvent
+	public void tickEvent(@Nonnull final TickEvent.ServerTickEvent event) {
+		if (event.phase != Phase.END || pending.isEmpty())
+			return;
+
+		for (final Entity entity : pending) {
+			if (entity.isDead)
+				continue;
+			final IEntityData data = CapabilityEntityData.getCapability(entity);
+			if (data == null)
+				continue;
+			final Set<? extends EntityPlayer> players = ((WorldServer) entity.getEntityWorld()).getEntityTracker()
+					.getTrackingPlayers(entity);
+			for (final EntityPlayer player : players) {
+				PacketEntityDataBatch batch = this.batches.get(player);
+				if (batch == null) {
+					batch = new PacketEntityDataBatch(pending.size());
+					this.batches.put((EntityPlayerMP) player, batch);
+				}
+				batch.add(data);
+			}
+		}
+		pending.clear();
+
+		for (final Map.Entry<EntityPlayerMP, PacketEntityDataBatch> e : this.batches.entrySet())
+			Network.sendToPlayer(e.getKey(), e.getValue());
+		this.batches.clear();
+	}
+
+}
@@ -25,50 +25,141 @@
 package org.orecruncher.dsurround.server.services;
 
 import java.util.List;
+import java.util.UUID;
 
 import javax.annotation.Nonnull;
 
+import org.orecruncher.dsurround.ModOptions;
 import org.orecruncher.dsurround.network.Network;
 import org.orecruncher.dsurround.network.PacketEnvironment;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2BooleanOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.village.Village;
 import net.minecraft.village.VillageCollection;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
-import net.minecraftforge.fml.relauncher.Side;
 
+/**
+ * Tracks whether players are inside a village. Membership is evaluated on a
+ * configurable tick interval, and a packet is only sent to a player when their
+ * state actually changes.
+ */
 public final class EnvironmentService extends Service {
 
+	// Villages are indexed in square regions of this many blocks (as a shift)
+	private static final int REGION_SHIFT = 6;
+
+	// Last village state sent to each player
+	private final Object2BooleanOpenHashMap<UUID> inVillage = new Object2BooleanOpenHashMap<>();
+	private int tickCount;
+
 	EnvironmentService() {
 		super("EnvironmentService");
 	}
 
-	@SubscribeEvent
-	public void tickEvent(@Nonnull final TickEvent.PlayerTickEvent event) {
-		if (event.phase == Phase.END && event.side == Side.SERVER) {
-			final EntityPlayer player = event.player;
-			final VillageCollection villageCollection = player.getEntityWorld().getVillageCollection();
-			boolean inVillage = false;
-
-			if (villageCollection != null) {
-				final List<Village> villages = villageCollection.getVillageList();
-				if (villages != null && villages.size() > 0) {
-					final BlockPos pos = player.getPosition();
-					for (final Village v : villages)
-						if (v.isBlockPosWithinSqVillageRadius(pos)) {
-							inVillage = true;
-							break;
-						}
+	@Override
+	public void fini() {
+		this.inVillage.clear();
+	}
+
+	private static long regionKey(final int regionX, final int regionZ) {
+		return ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+	}
+
+	/*
+	 * Builds an index of the villages by the regions their radius overlaps so
+	 * that a player's position can be checked against only the villages in
+	 * their region.
+	 */
+	@Nonnull
+	private static Long2ObjectOpenHashMap<List<Village>> buildIndex(@Nonnull final List<Village> villages) {
+		final Long2ObjectOpenHashMap<List<Village>> index = new Long2ObjectOpenHashMap<>();
+		for (final Village v : villages) {
+			final BlockPos center = v.getCenter();
+			final int radius = v.getVillageRadius();
+			final int minX = (center.getX() - radius) >> REGION_SHIFT;
+			final int maxX = (center.getX() + radius) >> REGION_SHIFT;
+			final int minZ = (center.getZ() - radius) >> REGION_SHIFT;
+			final int maxZ = (center.getZ() + radius) >> REGION_SHIFT;
+			for (int x = minX; x <= maxX; x++)
+				for (int z = minZ; z <= maxZ; z++) {
+					final long key = regionKey(x, z);
+					List<Village> list = index.get(key);
+					if (list == null) {
+						list = new ObjectArrayList<>(2);
+						index.put(key, list);
+					}
+					list.add(v);
 				}
-			}
+		}
+		return index;
+	}
+
+	private static boolean isInVillage(@Nonnull final Long2ObjectOpenHashMap<List<Village>> index,
+			@Nonnull final BlockPos pos) {
+		final List<Village> candidates = index
+				.get(regionKey(pos.getX() >> REGION_SHIFT, pos.getZ() >> REGION_SHIFT));
+		if (candidates != null)
+			for (int i = 0; i < candidates.size(); i++)
+				if (candidates.get(i).isBlockPosWithinSqVillageRadius(pos))
+					return true;
+		return false;
+	}
 
-			final PacketEnvironment packet = new PacketEnvironment(inVillage);
-			Network.sendToPlayer((EntityPlayerMP) player, packet);
+	private void process(@Nonnull final WorldServer world) {
+		final VillageCollection villageCollection = world.getVillageCollection();
+		final List<Village> villages = villageCollection != null ? villageCollection.getVillageList() : null;
+		final Long2ObjectOpenHashMap<List<Village>> index = villages != null && villages.size() > 0
+				? buildIndex(villages)
+				: null;
+
+		for (final EntityPlayer player : world.playerEntities) {
+			if (!(player instanceof EntityPlayerMP))
+				continue;
+			final boolean state = index != null && isInVillage(index, player.getPosition());
+			final UUID id = player.getPersistentID();
+			if (!this.inVillage.containsKey(id) || this.inVillage.getBoolean(id) != state) {
+				this.inVillage.put(id, state);
+				Network.sendToPlayer((EntityPlayerMP) player, new PacketEnvironment(state));
+			}
 		}
 	}
 
+	@SubscribeEvent
+	public void tickEvent(@Nonnull final TickEvent.ServerTickEvent event) {
+		if (event.phase != Phase.END)
+			return;
+
+		if (++this.tickCount < ModOptions.general.villageCheckInterval)
+			return;
+		this.tickCount = 0;
+
+		for (final WorldServer world : DimensionManager.getWorlds())
+			if (!world.playerEntities.isEmpty())
+				process(world);
+	}
+
+	/*
+	 * A player logging in needs to be told their state regardless of what was
+	 * last sent to them.
+	 */
+	@SubscribeEvent
+	public void playerLogin(@Nonnull final PlayerEvent.PlayerLoggedInEvent event) {
+		this.inVillage.removeBoolean(event.player.getPersistentID());
+	}
+
+	@SubscribeEvent
+	public void playerLogout(@Nonnull final PlayerEvent.PlayerLoggedOutEvent event) {
+		this.inVillage.removeBoolean(event.player.getPersistentID());
+	}
+
 }
@@ -81,6 +81,7 @@ public final class ServiceManager extends Service {
 		INSTANCE.addService(new AtmosphereService());
 		INSTANCE.addService(new SpeechBubbleService());
 		INSTANCE.addService(new EnvironmentService());
+		INSTANCE.addService(new EntityDataService());
 		INSTANCE.init0();
 	}
 
@@ -39,16 +39,31 @@ import org.orecruncher.lib.PlayerUtils;
 import org.orecruncher.lib.random.XorShiftRandom;
 
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.storage.WorldInfo;
 
 public class WeatherGenerator {
 
+	// Minimum change in rain intensity or thunder strength that will cause an
+	// update to be sent. Clients interpolate between updates.
+	protected static final float INTENSITY_QUANTUM = 0.05F;
+	// Number of ticks between updates when nothing of note has changed
+	protected static final int KEEPALIVE_TICKS = 100;
+
 	protected final Random RANDOM = XorShiftRandom.current();
 	protected final World world;
 	protected final IDimensionInfoEx data;
 
+	// State that was last sent to the players in the dimension
+	protected float lastIntensity = -1F;
+	protected float lastMaxIntensity = -1F;
+	protected float lastThunderStrength = -1F;
+	protected boolean lastThundering;
+	protected int lastThunderTimer;
+	protected int ticksSinceUpdate;
+
 	public WeatherGenerator(@Nonnull final World world) {
 		this.world = world;
 		this.data = (IDimensionInfoEx) CapabilityDimensionInfo.getCapability(world);
@@ -165,13 +180,57 @@ public class WeatherGenerator {
 		postProcess();
 	}
 
+	protected static boolean changed(final float current, final float last) {
+		if ((current > 0F) != (last > 0F))
+			return true;
+		return Math.abs(current - last) >= INTENSITY_QUANTUM;
+	}
+
+	protected boolean needsUpdate() {
+		// Keepalive so that the timers on the client are periodically corrected
+		if (++this.ticksSinceUpdate >= KEEPALIVE_TICKS)
+			return true;
+
+		if (changed(this.data.getCurrentRainIntensity(), this.lastIntensity))
+			return true;
+		if (changed(this.world.getThunderStrength(1.0F), this.lastThunderStrength))
+			return true;
+		if (this.data.getRainIntensity() != this.lastMaxIntensity)
+			return true;
+		if (worldInfo().isThundering() != this.lastThundering)
+			return true;
+		// The thunder timer counts down so if it went up it was reset
+		// because an event fired or a storm started/ended.
+		return this.data.getThunderTimer() > this.lastThunderTimer;
+	}
+
+	@Nonnull
+	protected PacketWeatherUpdate createPacket() {
+		return new PacketWeatherUpdate(this.data.getId(), this.data.getCurrentRainIntensity(),
+				this.data.getRainIntensity(), worldInfo().getRainTime(), this.world.getThunderStrength(1.0F),
+				worldInfo().getThunderTime(), this.data.getThunderTimer());
+	}
+
 	protected void sendUpdate() {
-		// Send the weather update to all players in the dimension.
-		if (this.world.playerEntities.size() > 0) {
-			final PacketWeatherUpdate packet = new PacketWeatherUpdate(this.data.getId(),
-					this.data.getCurrentRainIntensity(), this.data.getRainIntensity(), worldInfo().getRainTime(),
-					this.world.getThunderStrength(1.0F), worldInfo().getThunderTime(), this.data.getThunderTimer());
-			Network.sendToDimension(this.data.getId(), packet);
+		// Send the weather update to all players in the dimension if
+		// something changed enough to matter.
+		if (!this.world.playerEntities.isEmpty() && needsUpdate()) {
+			Network.sendToDimension(this.data.getId(), createPacket());
+
+			this.lastIntensity = this.data.getCurrentRainIntensity();
+			this.lastMaxIntensity = this.data.getRainIntensity();
+			this.lastThunderStrength = this.world.getThunderStrength(1.0F);
+			this.lastThundering = worldInfo().isThundering();
+			this.lastThunderTimer = this.data.getThunderTimer();
+			this.ticksSinceUpdate = 0;
 		}
 	}
+
+	/**
+	 * Sends the current weather state to a player that just arrived in the
+	 * dimension so they do not have to wait for the next broadcast.
+	 */
+	public void sendUpdate(@Nonnull final EntityPlayerMP player) {
+		Network.sendToPlayer(player, createPacket());
+	}
 }
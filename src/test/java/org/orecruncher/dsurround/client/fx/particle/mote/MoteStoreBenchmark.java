@@ -0,0 +1,89 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Headless timing of a full collection of motes being updated against a fake
+ * world. Reports the average cost of one mote update in nanoseconds; the store
+ * is topped back up to capacity between ticks outside of the timed section.
+ */
+public class MoteStoreBenchmark {
+
+	private static final int WARMUP_TICKS = 200;
+	private static final int TIMED_TICKS = 1000;
+
+	private interface Filler {
+		void fill(Random random);
+	}
+
+	private static void run(final String name, final MoteStore store, final Filler filler) {
+		final MoteStoreTest.FakeWorld world = new MoteStoreTest.FakeWorld();
+		final Random random = new Random(0x5DEECE66DL);
+
+		for (int i = 0; i < WARMUP_TICKS; i++) {
+			while (store.canFit())
+				filler.fill(random);
+			store.update(world);
+		}
+
+		long elapsed = 0;
+		long updated = 0;
+		for (int i = 0; i < TIMED_TICKS; i++) {
+			while (store.canFit())
+				filler.fill(random);
+			assertEquals(MoteStore.MAX_MOTES, store.size());
+			final long start = System.nanoTime();
+			store.update(world);
+			elapsed += System.nanoTime() - start;
+			updated += MoteStore.MAX_MOTES;
+		}
+
+		System.out.println(String.format("%-10s %d motes: %.1f ns/mote (%d light lookups/tick)", name,
+				MoteStore.MAX_MOTES, (double) elapsed / updated, world.lightLookups / (WARMUP_TICKS + TIMED_TICKS)));
+	}
+
+	@Test
+	public void updateFullCollections() {
+		final MoteStoreSpray sprays = new MoteStoreSpray();
+		run("Spray", sprays, r -> sprays.addSpray(r.nextDouble() * 32, 1 + r.nextDouble() * 8, r.nextDouble() * 32,
+				r.nextGaussian() * 0.1, r.nextDouble() * 0.3, r.nextGaussian() * 0.1, 1F, 1F, 1F));
+
+		final MoteStoreFireFly fireFlies = new MoteStoreFireFly();
+		run("FireFly", fireFlies,
+				r -> fireFlies.addFireFly(r.nextDouble() * 32, 1 + r.nextDouble() * 8, r.nextDouble() * 32));
+
+		final MoteStoreRipple ripples = new MoteStoreRipple();
+		run("Ripple", ripples, r -> ripples.addRipple(r.nextDouble() * 32, 1, r.nextDouble() * 32, 1F, 1F, 1F));
+
+		final MoteStoreFootprint prints = new MoteStoreFootprint();
+		run("Footprint", prints, r -> prints.addFootprint(r.nextInt(8), r.nextDouble() * 32, 0.01,
+				r.nextDouble() * 32, r.nextFloat() * 360F, 1F, r.nextBoolean(), false));
+	}
+}
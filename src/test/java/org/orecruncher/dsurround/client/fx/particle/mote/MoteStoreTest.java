@@ -0,0 +1,179 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Checks the bookkeeping of the struct-of-arrays mote stores against a fake
+ * world.
+ */
+public class MoteStoreTest {
+
+	static final class FakeWorld implements IMoteWorld {
+		int groundY = 0;
+		int lightLookups;
+
+		@Override
+		public int getCombinedLight(final int x, final int y, final int z) {
+			this.lightLookups++;
+			return 15 << 20 | ((x ^ z) & 15) << 4;
+		}
+
+		@Override
+		public boolean isSolid(final int x, final int y, final int z) {
+			return y < this.groundY;
+		}
+
+		@Override
+		public boolean isSnowLayer(final int x, final int y, final int z) {
+			return false;
+		}
+
+		@Override
+		public float getRainIntensity() {
+			return 0F;
+		}
+	}
+
+	@Test
+	public void handlesFollowSwapRemove() {
+		final FakeWorld world = new FakeWorld();
+		final MoteStoreRipple store = new MoteStoreRipple();
+		final IParticleMote first = store.addRipple(0.5, 1, 0.5, 1F, 1F, 1F);
+		final IParticleMote middle = store.addRipple(1.5, 1, 0.5, 1F, 1F, 1F);
+		final IParticleMote last = store.addRipple(2.5, 1, 0.5, 1F, 1F, 1F);
+
+		middle.kill();
+		assertFalse(middle.isAlive());
+		store.update(world);
+
+		// The last mote was moved into the slot that was freed
+		assertEquals(2, store.size());
+		assertEquals(2.5, store.posX[1], 0);
+		assertTrue(first.isAlive());
+		assertTrue(last.isAlive());
+		assertFalse(middle.isAlive());
+
+		// Killing through the moved handle has to hit the moved mote
+		last.kill();
+		store.update(world);
+		assertEquals(1, store.size());
+		assertEquals(0.5, store.posX[0], 0);
+		assertTrue(first.isAlive());
+		assertFalse(last.isAlive());
+	}
+
+	@Test
+	public void motesExpireWithAge() {
+		final FakeWorld world = new FakeWorld();
+		final MoteStoreRipple store = new MoteStoreRipple();
+		final IParticleMote mote = store.addRipple(0.5, 1, 0.5, 1F, 1F, 1F);
+
+		// Ripples live at most 20 ticks
+		for (int i = 0; i < 21; i++)
+			store.update(world);
+		assertEquals(0, store.size());
+		assertFalse(mote.isAlive());
+	}
+
+	@Test
+	public void motesInSameBlockShareLight() {
+		final FakeWorld world = new FakeWorld();
+		final MoteStoreRipple store = new MoteStoreRipple();
+		for (int i = 0; i < 100; i++)
+			store.addRipple(4 + i / 100D, 1.5, 7.25, 1F, 1F, 1F);
+		store.addRipple(9.5, 1.5, 7.5, 1F, 1F, 1F);
+
+		store.update(world);
+		assertEquals(2, world.lightLookups);
+		assertEquals(15 << 20 | (4 ^ 7) << 4, store.light[0]);
+		assertEquals(15 << 20 | (9 ^ 7) << 4, store.light[100]);
+
+		// Sampled again on the next tick
+		store.update(world);
+		assertEquals(4, world.lightLookups);
+	}
+
+	@Test
+	public void sprayDiesOnSolidBlock() {
+		final FakeWorld world = new FakeWorld();
+		final MoteStoreSpray store = new MoteStoreSpray();
+		final IParticleMote falling = store.addSpray(0.5, 0.5, 0.5, 0, -1, 0, 1F, 1F, 1F);
+		final IParticleMote rising = store.addSpray(0.5, 0.5, 0.5, 0, 1, 0, 1F, 1F, 1F);
+
+		store.update(world);
+		assertFalse(falling.isAlive());
+		assertTrue(rising.isAlive());
+		assertEquals(1, store.size());
+	}
+
+	@Test
+	public void fireFlyBouncesOffSolidBlock() {
+		final FakeWorld world = new FakeWorld();
+		world.groundY = 100;
+		final MoteStoreFireFly store = new MoteStoreFireFly();
+		final IParticleMote mote = store.addFireFly(0.5, 0.5, 0.5);
+
+		store.update(world);
+		assertTrue(mote.isAlive());
+		assertEquals(15728880, store.light[0]);
+		assertEquals(0, world.lightLookups);
+	}
+
+	@Test
+	public void footprintDiesWhenGroundGoes() {
+		final FakeWorld world = new FakeWorld();
+		world.groundY = 1;
+		final MoteStoreFootprint store = new MoteStoreFootprint();
+		final IParticleMote mote = store.addFootprint(0, 0.5, 1, 0.5, 90F, 1F, false, false);
+
+		store.update(world);
+		assertTrue(mote.isAlive());
+
+		world.groundY = 0;
+		store.update(world);
+		assertFalse(mote.isAlive());
+		assertEquals(0, store.size());
+	}
+
+	@Test
+	public void storeIsCapped() {
+		final MoteStoreRipple store = new MoteStoreRipple();
+		for (int i = 0; i < MoteStore.MAX_MOTES; i++)
+			assertNotNull(store.addRipple(i, 1, 0, 1F, 1F, 1F));
+		assertFalse(store.canFit());
+		assertNull(store.addRipple(0, 1, 0, 1F, 1F, 1F));
+
+		store.clear();
+		assertEquals(0, store.size());
+		assertTrue(store.canFit());
+	}
+}
@@ -0,0 +1,179 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.lib.random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.orecruncher.lib.WeightTable.IEntrySource;
+import org.orecruncher.lib.WeightTable.IItem;
+
+/**
+ * Checks that picks from the alias tables follow the configured weights. Each
+ * distribution is compared with a chi-square test at p = 0.001 using a fixed
+ * seed so the result does not vary between runs.
+ */
+public class AliasTableTest {
+
+	private static final int SAMPLES = 200000;
+	private static final long SEED = 0x5DEECE66DL;
+
+	// Chi-square critical values at p = 0.001, indexed by degrees of freedom
+	private static final double[] CRITICAL = { 0, 10.828, 13.816, 16.266, 18.467, 20.515 };
+
+	private static final class Entry implements IItem<String>, IEntrySource<String> {
+		private final String item;
+		private final int weight;
+		private boolean matches = true;
+
+		public Entry(final String item, final int weight) {
+			this.item = item;
+			this.weight = weight;
+		}
+
+		@Override
+		public int getWeight() {
+			return this.weight;
+		}
+
+		@Override
+		public String getItem() {
+			return this.item;
+		}
+
+		@Override
+		public IItem<String> getEntry() {
+			return this;
+		}
+
+		@Override
+		public boolean matches() {
+			return this.matches;
+		}
+	}
+
+	private interface Picker {
+		String next(Random random);
+	}
+
+	private static Map<String, Integer> sample(final Picker picker) {
+		final Random random = new Random(SEED);
+		final Map<String, Integer> counts = new HashMap<>();
+		for (int i = 0; i < SAMPLES; i++)
+			counts.merge(picker.next(random), 1, Integer::sum);
+		return counts;
+	}
+
+	// Asserts that only the entries with a positive weight were picked and that
+	// their counts fit the weights.
+	private static void assertDistribution(final Map<String, Integer> counts, final List<Entry> expected) {
+		long total = 0;
+		final List<Entry> live = new ArrayList<>();
+		for (final Entry e : expected)
+			if (e.weight > 0) {
+				total += e.weight;
+				live.add(e);
+			}
+
+		for (final String picked : counts.keySet())
+			assertTrue("Unexpected pick " + picked, live.stream().anyMatch(e -> e.item.equals(picked)));
+
+		double chi = 0;
+		for (final Entry e : live) {
+			final double wanted = (double) SAMPLES * e.weight / total;
+			final double diff = counts.getOrDefault(e.item, 0) - wanted;
+			chi += diff * diff / wanted;
+		}
+
+		final int df = live.size() - 1;
+		assertTrue("Chi-square " + chi + " exceeds " + CRITICAL[df], chi < CRITICAL[df]);
+	}
+
+	@Test
+	public void mixedWeights() {
+		final List<Entry> entries = Arrays.asList(new Entry("a", 1), new Entry("b", 2), new Entry("c", 7),
+				new Entry("d", 40), new Entry("e", 13));
+		final AliasTable<String> table = new AliasTable<>(entries);
+		assertEquals(5, table.size());
+		assertDistribution(sample(table::next), entries);
+	}
+
+	@Test
+	public void nonPositiveWeightsAreNeverPicked() {
+		final List<Entry> entries = Arrays.asList(new Entry("a", 5), new Entry("zero", 0), new Entry("b", 15),
+				new Entry("negative", -3));
+		final AliasTable<String> table = new AliasTable<>(entries);
+		assertEquals(2, table.size());
+		assertDistribution(sample(table::next), entries);
+	}
+
+	@Test
+	public void noPositiveWeightsIsEmpty() {
+		final AliasTable<String> table = new AliasTable<>(
+				Arrays.asList(new Entry("zero", 0), new Entry("negative", -1)));
+		assertTrue(table.isEmpty());
+		assertNull(table.next(new Random(SEED)));
+	}
+
+	@Test
+	public void singleEntry() {
+		final AliasTable<String> table = new AliasTable<>(Arrays.asList(new Entry("only", 3)));
+		final Map<String, Integer> counts = sample(table::next);
+		assertEquals(1, counts.size());
+		assertEquals(SAMPLES, (int) counts.get("only"));
+	}
+
+	@Test
+	public void conditionalFollowsMaskChanges() {
+		final Entry a = new Entry("a", 10);
+		final Entry b = new Entry("b", 30);
+		final Entry c = new Entry("c", 60);
+		final ConditionalAliasTable<String> table = new ConditionalAliasTable<>(new Entry[] { a, b, c });
+
+		assertDistribution(sample(table::next), Arrays.asList(a, b, c));
+
+		c.matches = false;
+		assertDistribution(sample(table::next), Arrays.asList(a, b));
+
+		c.matches = true;
+		a.matches = false;
+		assertDistribution(sample(table::next), Arrays.asList(b, c));
+
+		// Back to a set that already has a table
+		a.matches = true;
+		assertDistribution(sample(table::next), Arrays.asList(a, b, c));
+
+		a.matches = b.matches = c.matches = false;
+		assertNull(table.next(new Random(SEED)));
+	}
+}
@@ -0,0 +1,167 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.registry.config;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+
+/**
+ * Exercises the configuration cache against some of the data files shipped
+ * with the mod. The registries only ever see the ModConfiguration model, so a
+ * model that serializes to the same Json either way means the registries come
+ * out the same whether the configuration came from the cache or from a parse.
+ */
+public class ConfigCacheTest {
+
+	private static final Gson GSON = new Gson();
+	private static final String VERSION = "test";
+	private static final List<String> NAMES = Arrays.asList("mcp.json", "quark.json", "biomesoplenty.json");
+
+	private static byte[] resource(final String name) throws IOException {
+		try (final InputStream stream = ConfigCacheTest.class
+				.getResourceAsStream("/assets/dsurround/dsurround/data/" + name)) {
+			assertNotNull(name, stream);
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[8192];
+			int count;
+			while ((count = stream.read(buffer)) != -1)
+				out.write(buffer, 0, count);
+			return out.toByteArray();
+		}
+	}
+
+	private static List<ModConfiguration> parse(final List<byte[]> contents) {
+		final List<ModConfiguration> result = new ArrayList<>();
+		for (int i = 0; i < contents.size(); i++) {
+			final ModConfiguration mcf = GSON.fromJson(
+					new InputStreamReader(new ByteArrayInputStream(contents.get(i)), StandardCharsets.UTF_8),
+					ModConfiguration.class);
+			mcf.source = NAMES.get(i);
+			result.add(mcf);
+		}
+		return result;
+	}
+
+	private static List<ModConfiguration> decode(final byte[] bits) throws IOException {
+		final List<ModConfiguration> result = new ArrayList<>();
+		try (final MCFIterator itr = new MCFIterator(bits)) {
+			while (itr.hasNext())
+				result.add(itr.next());
+		}
+		return result;
+	}
+
+	private static void assertSameModel(final List<ModConfiguration> expected, final List<ModConfiguration> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++)
+			assertEquals(GSON.toJson(expected.get(i)), GSON.toJson(actual.get(i)));
+	}
+
+	private static List<byte[]> contents() throws IOException {
+		final List<byte[]> result = new ArrayList<>();
+		for (final String name : NAMES)
+			result.add(resource(name));
+		return result;
+	}
+
+	@Test
+	public void encodedModelMatchesParse() throws IOException {
+		final List<ModConfiguration> parsed = parse(contents());
+		assertSameModel(parsed, decode(ConfigCodec.encode(parsed)));
+	}
+
+	@Test
+	public void hitUntilOneSourceChanges() throws Exception {
+		final File file = Files.createTempFile("dsurround", ".cache").toFile();
+		file.delete();
+		try {
+			final List<byte[]> contents = contents();
+			final byte[] key = ConfigCache.key(VERSION, NAMES, contents);
+
+			// Nothing written yet
+			assertNull(ConfigCache.read(file, key, NAMES.size()));
+
+			final List<ModConfiguration> parsed = parse(contents);
+			final String[] failures = { null, "bad", null };
+			ConfigCache.write(file, key, new ConfigCache.Entry(ConfigCodec.encode(parsed), failures));
+
+			final ConfigCache.Entry hit = ConfigCache.read(file, key, NAMES.size());
+			assertNotNull(hit);
+			assertArrayEquals(failures, hit.failures);
+			assertSameModel(parsed, decode(hit.bits));
+
+			// Touch a single source; the key moves and the old file misses
+			final List<byte[]> changed = new ArrayList<>(contents);
+			final String edited = new String(contents.get(1), StandardCharsets.UTF_8) + "\n";
+			changed.set(1, edited.getBytes(StandardCharsets.UTF_8));
+			final byte[] changedKey = ConfigCache.key(VERSION, NAMES, changed);
+			assertFalse(Arrays.equals(key, changedKey));
+			assertNull(ConfigCache.read(file, changedKey, NAMES.size()));
+
+			// Rebuilding on the miss gives the same model as the original hit
+			final List<ModConfiguration> reparsed = parse(changed);
+			ConfigCache.write(file, changedKey,
+					new ConfigCache.Entry(ConfigCodec.encode(reparsed), new String[NAMES.size()]));
+			final ConfigCache.Entry rehit = ConfigCache.read(file, changedKey, NAMES.size());
+			assertNotNull(rehit);
+			assertSameModel(parsed, decode(rehit.bits));
+			assertNull(ConfigCache.read(file, key, NAMES.size()));
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void keyCoversOrderAndVersion() throws Exception {
+		final List<byte[]> contents = contents();
+		final byte[] key = ConfigCache.key(VERSION, NAMES, contents);
+		assertArrayEquals(key, ConfigCache.key(VERSION, NAMES, contents()));
+		assertFalse(Arrays.equals(key, ConfigCache.key("other", NAMES, contents)));
+
+		final List<String> names = new ArrayList<>(NAMES);
+		final List<byte[]> reordered = new ArrayList<>(contents);
+		names.add(names.remove(0));
+		reordered.add(reordered.remove(0));
+		assertFalse(Arrays.equals(key, ConfigCache.key(VERSION, names, reordered)));
+	}
+}